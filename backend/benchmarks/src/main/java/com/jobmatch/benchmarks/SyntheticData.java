@@ -0,0 +1,282 @@
+package com.jobmatch.benchmarks;
+
+import com.jobmatch.model.Job;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of catalogs, candidates, resumes and skill dictionaries for the benchmarks.
+ * Skill popularity is skewed the way real postings are: a handful of skills are listed by most
+ * jobs, while most skills are listed by few. The same seed always yields the same data.
+ */
+public final class SyntheticData {
+    
+    private static final String[] SYLLABLES = {
+        "ka", "lo", "mi", "ne", "ru", "ta", "vo", "zen", "ix", "or", "bel", "cor", "dra", "fin",
+        "gal", "hex", "jun", "kry", "lum", "mor", "nex", "pra", "quo", "syn", "tor", "ul", "vex", "wy"
+    };
+    private static final String[] FIRST_NAMES = {"Jane", "John", "Maria", "Wei", "Amara", "Lucas", "Priya", "Omar"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Garcia", "Chen", "Okafor", "Silva", "Patel", "Haddad"};
+    private static final String[] ROLES = {"Software Engineer", "Data Analyst", "Backend Developer", "Team Lead", "DevOps Engineer"};
+    private static final String[] COMPANIES = {"Acme Corp", "Globex", "Initech", "Umbrella Labs", "Stark Industries"};
+    private static final String[] SCHOOLS = {"State University", "Institute of Technology", "City College", "Polytechnic School"};
+    
+    private final SplittableRandom random;
+    
+    public SyntheticData(long seed) {
+        random = new SplittableRandom(seed);
+    }
+    
+    /**
+     * The skills the backend extracts from resumes out of the box, unescaped.
+     */
+    public static List<String> shippedSkills() {
+        List<String> skills = new ArrayList<>();
+        for (String pattern : shippedDictionary()) {
+            skills.add(pattern.replace("\\", ""));
+        }
+        return skills;
+    }
+    
+    /**
+     * The skill dictionary shipped in the backend jar, as the regular expressions it lists.
+     */
+    public static List<String> shippedDictionary() {
+        InputStream in = SyntheticData.class.getResourceAsStream("/skill-dictionary.txt");
+        if (in == null) {
+            throw new IllegalStateException("skill-dictionary.txt is not on the classpath");
+        }
+        
+        List<String> patterns = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    patterns.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return patterns;
+    }
+    
+    /**
+     * The shipped skills followed by made-up ones, {@code count} distinct skills in all. The
+     * shipped skills come first, so they are also the most popular.
+     */
+    public List<String> skillNames(int count) {
+        Set<String> names = new LinkedHashSet<>(shippedSkills());
+        Set<String> normalized = new HashSet<>();
+        for (String name : names) {
+            normalized.add(name.toLowerCase());
+        }
+        while (names.size() < count) {
+            String name = capitalize(word()) + (random.nextInt(4) == 0 ? " " + capitalize(word()) : "");
+            if (normalized.add(name.toLowerCase())) {
+                names.add(name);
+            }
+        }
+        return new ArrayList<>(names).subList(0, count);
+    }
+    
+    /**
+     * A dictionary of the first {@code count} of the skills from {@link #skillNames(int)}, as
+     * patterns: the shipped ones as they are written in the dictionary file, then the made-up
+     * ones, which need no escaping.
+     */
+    public static List<String> dictionary(List<String> skillNames, int count) {
+        List<String> patterns = new ArrayList<>(shippedDictionary());
+        if (count <= patterns.size()) {
+            return new ArrayList<>(patterns.subList(0, count));
+        }
+        
+        patterns.addAll(skillNames.subList(patterns.size(), count));
+        return patterns;
+    }
+    
+    /**
+     * An alias table of about {@code aliasCount} aliases spread over the given canonical skills,
+     * in the form {@code SkillDictionary.swapAliases} takes.
+     */
+    public Map<String, List<String>> aliases(List<String> canonicalSkills, int aliasCount) {
+        Map<String, List<String>> aliasesByCanonical = new LinkedHashMap<>();
+        Set<String> taken = new HashSet<>();
+        for (String skill : canonicalSkills) {
+            taken.add(skill.toLowerCase());
+        }
+        
+        int added = 0;
+        while (added < aliasCount) {
+            String canonical = canonicalSkills.get(random.nextInt(canonicalSkills.size()));
+            String alias = random.nextBoolean()
+                ? canonical + " " + word()
+                : word() + (random.nextBoolean() ? "" : "." + SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            if (taken.add(alias.toLowerCase())) {
+                aliasesByCanonical.computeIfAbsent(canonical, key -> new ArrayList<>()).add(alias);
+                added++;
+            }
+        }
+        return aliasesByCanonical;
+    }
+    
+    /**
+     * Picks between {@code min} and {@code max} distinct skills, favouring those early in the list.
+     */
+    public List<String> pickSkills(List<String> skills, int min, int max) {
+        int count = min + random.nextInt(max - min + 1);
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, skills.size())) {
+            picked.add(skills.get(skewedIndex(skills.size())));
+        }
+        return new ArrayList<>(picked);
+    }
+    
+    /**
+     * Picks between {@code min} and {@code max} distinct skill ids below {@code skillCount}, sorted,
+     * favouring low ids.
+     */
+    public int[] pickSkillIds(int skillCount, int min, int max) {
+        int count = Math.min(min + random.nextInt(max - min + 1), skillCount);
+        Set<Integer> picked = new HashSet<>();
+        while (picked.size() < count) {
+            picked.add(skewedIndex(skillCount));
+        }
+        return picked.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+    
+    /**
+     * A job as it would be read from the database.
+     */
+    public Job job(long id, List<String> skills) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(ROLES[random.nextInt(ROLES.length)]);
+        job.setCompany(COMPANIES[random.nextInt(COMPANIES.length)]);
+        job.setLocation(random.nextBoolean() ? "Remote" : "Berlin, Germany");
+        job.setDescription(sentence(40));
+        job.setSalary((60 + random.nextInt(90)) + "k");
+        job.setType(random.nextBoolean() ? "Full-time" : "Contract");
+        job.setPostedDate("2024-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+        job.setSkills(pickSkills(skills, 3, 12));
+        return job;
+    }
+    
+    public List<Job> jobs(int count, List<String> skills) {
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(job(i + 1, skills));
+        }
+        return jobs;
+    }
+    
+    /**
+     * The text of a plain-text resume of a few kilobytes: contact details, a summary, experience
+     * and education sections with bullets, and a skills line.
+     */
+    public String resume(List<String> skills) {
+        String lineEnd = random.nextInt(4) == 0 ? "\r\n" : "\n";
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        List<String> held = pickSkills(skills, 4, 14);
+        
+        StringBuilder text = new StringBuilder(4096);
+        text.append(first).append(' ').append(last).append(lineEnd);
+        text.append(first.toLowerCase()).append('.').append(last.toLowerCase()).append("@example.com").append(lineEnd);
+        text.append("+1 (555) ").append(100 + random.nextInt(900)).append('-').append(1000 + random.nextInt(9000)).append(lineEnd);
+        text.append(lineEnd).append("Summary").append(lineEnd);
+        text.append(sentence(30)).append(" Experienced with ").append(String.join(", ", held)).append('.').append(lineEnd);
+        
+        text.append(lineEnd).append("Experience").append(lineEnd);
+        int positions = 2 + random.nextInt(4);
+        for (int i = 0; i < positions; i++) {
+            int start = 2005 + random.nextInt(15);
+            text.append(ROLES[random.nextInt(ROLES.length)]).append(" at ").append(COMPANIES[random.nextInt(COMPANIES.length)])
+                .append(' ').append(start).append('-').append(start + 1 + random.nextInt(4)).append(lineEnd);
+            int bullets = 2 + random.nextInt(4);
+            for (int b = 0; b < bullets; b++) {
+                text.append("- ").append(sentence(12)).append(" using ").append(held.get(random.nextInt(held.size()))).append(lineEnd);
+            }
+        }
+        
+        text.append(lineEnd).append("Education").append(lineEnd);
+        text.append("BSc Computer Science, ").append(SCHOOLS[random.nextInt(SCHOOLS.length)]).append(' ')
+            .append(2000 + random.nextInt(15)).append(lineEnd);
+        if (random.nextBoolean()) {
+            text.append("MSc Data Science, ").append(SCHOOLS[random.nextInt(SCHOOLS.length)]).append(' ')
+                .append(2005 + random.nextInt(15)).append(lineEnd);
+        }
+        
+        text.append(lineEnd).append("Skills").append(lineEnd).append(String.join(", ", held)).append(lineEnd);
+        return text.toString();
+    }
+    
+    public List<String> resumes(int count, List<String> skills) {
+        List<String> resumes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resumes.add(resume(skills));
+        }
+        return resumes;
+    }
+    
+    /**
+     * Shuffles a copy of the values, so benchmarks do not walk their inputs in generation order.
+     */
+    public <T> List<T> shuffled(List<T> values) {
+        List<T> shuffled = new ArrayList<>(values);
+        for (int i = shuffled.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            T swap = shuffled.get(i);
+            shuffled.set(i, shuffled.get(j));
+            shuffled.set(j, swap);
+        }
+        return shuffled;
+    }
+    
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+    
+    // Cubing a uniform draw puts about 46% of picks in the first tenth of the range
+    private int skewedIndex(int size) {
+        double u = random.nextDouble();
+        return (int) (u * u * u * size);
+    }
+    
+    private String word() {
+        int syllables = 2 + random.nextInt(3);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+    
+    private String sentence(int words) {
+        String[] parts = new String[words];
+        for (int i = 0; i < words; i++) {
+            parts[i] = word();
+        }
+        parts[0] = capitalize(parts[0]);
+        return String.join(" ", Arrays.asList(parts));
+    }
+    
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.jobmatch.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobmatch.benchmarks.SyntheticData;
+import com.jobmatch.dto.JobDTO;
+import com.jobmatch.dto.ResumeDTO;
+import com.jobmatch.model.Job;
+import com.jobmatch.model.JobMatch;
+import com.jobmatch.model.Resume;
+import com.jobmatch.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn a page of entities into response bodies: the controllers' {@code convertToDTO}
+ * mappers, and Jackson writing a {@code List<JobDTO>} with the settings Spring Boot applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+    
+    private final JobController jobController = new JobController();
+    private final JobMatchController jobMatchController = new JobMatchController();
+    private final ResumeController resumeController = new ResumeController();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    private List<Job> jobs;
+    private List<JobMatch> matches;
+    private List<Resume> resumes;
+    private List<JobDTO> jobDTOs;
+    
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        List<String> skills = data.skillNames(2000);
+        jobs = data.jobs(pageSize, skills);
+        
+        User user = new User("Jane Doe", "jane.doe@example.com", "password");
+        user.setId(1L);
+        matches = new ArrayList<>(pageSize);
+        resumes = new ArrayList<>(pageSize);
+        for (Job job : jobs) {
+            JobMatch match = new JobMatch();
+            match.setId(job.getId());
+            match.setUser(user);
+            match.setJob(job);
+            match.setMatchScore(data.nextInt(101));
+            matches.add(match);
+            
+            Resume resume = new Resume();
+            resume.setId(job.getId());
+            resume.setUser(user);
+            resume.setName(user.getName());
+            resume.setEmail(user.getEmail());
+            resume.setPhone("+1 (555) 123-4567");
+            resume.setSkills(data.pickSkills(skills, 4, 14));
+            resume.setExperience(List.of("Software Engineer at Acme Corp 2018-2021", "Team Lead at Globex 2021-2024"));
+            resume.setEducation(List.of("BSc Computer Science, State University 2012"));
+            resumes.add(resume);
+        }
+        jobDTOs = jobsToDTOs();
+    }
+    
+    @Benchmark
+    public List<JobDTO> jobsToDTOs() {
+        List<JobDTO> dtos = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            dtos.add(jobController.convertToDTO(job));
+        }
+        return dtos;
+    }
+    
+    @Benchmark
+    public List<JobDTO> matchesToDTOs() {
+        List<JobDTO> dtos = new ArrayList<>(matches.size());
+        for (JobMatch match : matches) {
+            dtos.add(jobMatchController.convertToDTO(match));
+        }
+        return dtos;
+    }
+    
+    @Benchmark
+    public List<ResumeDTO> resumesToDTOs() {
+        List<ResumeDTO> dtos = new ArrayList<>(resumes.size());
+        for (Resume resume : resumes) {
+            dtos.add(resumeController.convertToDTO(resume));
+        }
+        return dtos;
+    }
+    
+    @Benchmark
+    public byte[] serializeJobDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jobDTOs);
+    }
+    
+    @Benchmark
+    public byte[] mapAndSerializeJobs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(jobsToDTOs());
+    }
+}
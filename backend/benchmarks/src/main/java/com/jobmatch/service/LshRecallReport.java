@@ -0,0 +1,88 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recall@K of LSH retrieval against the exact scorer, with the latency each setting buys.
+ * A job LSH returns counts as recalled when it scores at least as high as the exact K-th best
+ * match, so ties at the cut-off are not counted as misses. Recall is not a timing, so this is a
+ * plain program rather than a JMH benchmark:
+ *
+ * <pre>
+ * java -Xmx2g -cp target/benchmarks.jar com.jobmatch.service.LshRecallReport [jobs] [k]
+ * </pre>
+ */
+public class LshRecallReport {
+    
+    private static final int SKILL_COUNT = 2000;
+    private static final int CANDIDATES = 500;
+    private static final int[][] SETTINGS = {{8, 2}, {16, 2}, {32, 2}, {64, 2}, {32, 3}, {64, 3}};
+    
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        
+        MatchingFixture exact = new MatchingFixture(new SyntheticData(42), jobs, SKILL_COUNT, CANDIDATES, "exact", 0, 0);
+        List<List<JobScore>> expected = new ArrayList<>(CANDIDATES);
+        long exactNanos = scoreAll(exact, k, expected);
+        
+        System.out.printf("%d jobs, %d candidates, K = %d%n", jobs, CANDIDATES, k);
+        System.out.printf("exact                  recall 1.000  candidates %9.0f  %8.1f us%n",
+            meanCandidates(exact), exactNanos / 1000.0 / CANDIDATES);
+        
+        for (int[] setting : SETTINGS) {
+            int bands = setting[0];
+            int rows = setting[1];
+            // Same seed, so the same catalog and candidates as the exact run
+            MatchingFixture lsh = new MatchingFixture(new SyntheticData(42), jobs, SKILL_COUNT, CANDIDATES, "lsh", bands, rows);
+            List<List<JobScore>> found = new ArrayList<>(CANDIDATES);
+            long lshNanos = scoreAll(lsh, k, found);
+            
+            long recalled = 0;
+            long relevant = 0;
+            for (int i = 0; i < CANDIDATES; i++) {
+                List<JobScore> best = expected.get(i);
+                if (best.isEmpty()) {
+                    continue;
+                }
+                int cutOff = best.get(best.size() - 1).getScore();
+                relevant += best.size();
+                recalled += Math.min(best.size(), found.get(i).stream().filter(score -> score.getScore() >= cutOff).count());
+            }
+            
+            System.out.printf("bands %3d rows %d      recall %.3f  candidates %9.0f  %8.1f us%n",
+                bands, rows, relevant == 0 ? 1.0 : (double) recalled / relevant, meanCandidates(lsh),
+                lshNanos / 1000.0 / CANDIDATES);
+        }
+    }
+    
+    /**
+     * Scores every candidate twice, the first time to warm up, and returns the nanoseconds the
+     * second pass took.
+     */
+    private static long scoreAll(MatchingFixture fixture, int k, List<List<JobScore>> results) {
+        JobMatchService matches = fixture.matchService(k);
+        for (int[] skillIds : fixture.candidateSkillIds) {
+            matches.scoreJobs(skillIds);
+        }
+        
+        long start = System.nanoTime();
+        for (int[] skillIds : fixture.candidateSkillIds) {
+            results.add(matches.scoreJobs(skillIds));
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static double meanCandidates(MatchingFixture fixture) {
+        long total = 0;
+        for (int[] skillIds : fixture.candidateSkillIds) {
+            total += fixture.minHashLshIndex.isEnabled()
+                ? fixture.minHashLshIndex.findCandidateJobs(skillIds).size()
+                : fixture.jobSkillIndex.findCandidateJobs(skillIds).size();
+        }
+        return (double) total / fixture.candidateSkillIds.length;
+    }
+}
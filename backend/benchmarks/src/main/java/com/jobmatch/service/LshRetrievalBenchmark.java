@@ -0,0 +1,68 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to find and score one candidate's top 50 jobs with MinHash LSH retrieval, for a few
+ * band and row settings. {@link LshRecallReport} reports the recall these settings give up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LshRetrievalBenchmark {
+    
+    private static final int CANDIDATES = 256;
+    
+    @Param({"10000", "100000"})
+    public int jobs;
+    
+    @Param({"2000"})
+    public int skillCount;
+    
+    @Param({"16", "32"})
+    public int bands;
+    
+    @Param({"2"})
+    public int rows;
+    
+    private MatchingFixture fixture;
+    private JobMatchService topMatches;
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        
+        int nextCandidate() {
+            next = (next + 1) % CANDIDATES;
+            return next;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        fixture = new MatchingFixture(new SyntheticData(42), jobs, skillCount, CANDIDATES, "lsh", bands, rows);
+        topMatches = fixture.matchService(50);
+    }
+    
+    @Benchmark
+    public List<JobScore> lshTopK(Cursor cursor) {
+        return topMatches.scoreJobs(fixture.candidateSkillIds[cursor.nextCandidate()]);
+    }
+}
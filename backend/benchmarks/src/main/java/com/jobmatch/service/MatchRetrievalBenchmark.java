@@ -0,0 +1,77 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to score one candidate against catalogs of 10k to 1M jobs: scanning every job, as
+ * matching did before the skill index, against visiting only the jobs the index returns.
+ * Top-K keeps the 50 best matches, as with {@code jobmatch.matching.top-k=50}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MatchRetrievalBenchmark {
+    
+    private static final int CANDIDATES = 256;
+    
+    @Param({"10000", "100000", "1000000"})
+    public int jobs;
+    
+    @Param({"2000"})
+    public int skillCount;
+    
+    private MatchingFixture fixture;
+    private JobMatchService allMatches;
+    private JobMatchService topMatches;
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        private final List<JobScore> scores = new ArrayList<>();
+        
+        int nextCandidate() {
+            next = (next + 1) % CANDIDATES;
+            return next;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        fixture = new MatchingFixture(new SyntheticData(42), jobs, skillCount, CANDIDATES, "exact", 0, 0);
+        allMatches = fixture.matchService(0);
+        topMatches = fixture.matchService(50);
+    }
+    
+    @Benchmark
+    public List<JobScore> fullScan(Cursor cursor) {
+        return fixture.scoreAllJobs(fixture.candidateSkillIds[cursor.nextCandidate()], cursor.scores);
+    }
+    
+    @Benchmark
+    public List<JobScore> skillIndex(Cursor cursor) {
+        return allMatches.scoreJobs(fixture.candidateSkillIds[cursor.nextCandidate()]);
+    }
+    
+    @Benchmark
+    public List<JobScore> skillIndexTopK(Cursor cursor) {
+        return topMatches.scoreJobs(fixture.candidateSkillIds[cursor.nextCandidate()]);
+    }
+}
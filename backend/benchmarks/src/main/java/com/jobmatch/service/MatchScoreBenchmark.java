@@ -0,0 +1,95 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jobs scored per second on one thread: the sorted-merge {@code calculateMatchScore}, and the
+ * scalar kernel counting matches block by block the way matching calls it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(MatchScoreBenchmark.JOBS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MatchScoreBenchmark {
+    
+    static final int JOBS = 4096;
+    private static final int BLOCK_SIZE = 256;
+    
+    // Distinct skills known to the dictionary, which sets the candidate bitset's length
+    @Param({"500", "5000"})
+    public int skillCount;
+    
+    private int[] userSkillIds;
+    private int[][] jobSkillIds;
+    
+    private long[] userBits;
+    private int[][] blockSkillIds;
+    private int[][] blockOffsets;
+    private final int[] counts = new int[BLOCK_SIZE];
+    
+    private final MatchKernel scalarKernel = new ScalarMatchKernel();
+    
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        userSkillIds = data.pickSkillIds(skillCount, 3, 10);
+        jobSkillIds = new int[JOBS][];
+        for (int i = 0; i < JOBS; i++) {
+            jobSkillIds[i] = data.pickSkillIds(skillCount, 3, 12);
+        }
+        
+        userBits = MatchKernel.toBitset(userSkillIds, skillCount);
+        blockSkillIds = new int[JOBS / BLOCK_SIZE][];
+        blockOffsets = new int[JOBS / BLOCK_SIZE][BLOCK_SIZE + 1];
+        for (int block = 0; block < blockSkillIds.length; block++) {
+            int[] offsets = blockOffsets[block];
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                offsets[i + 1] = offsets[i] + jobSkillIds[block * BLOCK_SIZE + i].length;
+            }
+            blockSkillIds[block] = new int[offsets[BLOCK_SIZE]];
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                int[] skillIds = jobSkillIds[block * BLOCK_SIZE + i];
+                System.arraycopy(skillIds, 0, blockSkillIds[block], offsets[i], skillIds.length);
+            }
+        }
+    }
+    
+    @Benchmark
+    public int mergeScore() {
+        int total = 0;
+        for (int[] skillIds : jobSkillIds) {
+            total += JobMatchService.calculateMatchScore(userSkillIds, skillIds);
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public void scalarKernel(Blackhole blackhole) {
+        countBlocks(scalarKernel, blackhole);
+    }
+    
+    private void countBlocks(MatchKernel kernel, Blackhole blackhole) {
+        for (int block = 0; block < blockSkillIds.length; block++) {
+            kernel.countMatches(userBits, blockSkillIds[block], blockOffsets[block], BLOCK_SIZE, counts);
+            blackhole.consume(counts);
+        }
+    }
+}
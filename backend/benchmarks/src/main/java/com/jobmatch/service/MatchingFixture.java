@@ -0,0 +1,88 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import com.jobmatch.model.Job;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+/**
+ * The matching services wired by hand over a synthetic catalog, without Spring or a database.
+ * Jobs are indexed once; the match cache is off so every call scores.
+ */
+class MatchingFixture {
+    
+    final SkillDictionary skillDictionary = new SkillDictionary();
+    final JobSkillIndex jobSkillIndex = new JobSkillIndex();
+    final MinHashLshIndex minHashLshIndex = new MinHashLshIndex();
+    final SkillWeights skillWeights = new SkillWeights();
+    final MatchScoreCache matchScoreCache = new MatchScoreCache();
+    
+    final Long[] jobIds;
+    final int[][] candidateSkillIds;
+    
+    /**
+     * @param retrieval "exact", or "lsh" to retrieve candidates from MinHash buckets
+     */
+    MatchingFixture(SyntheticData data, int jobCount, int skillCount, int candidateCount,
+                    String retrieval, int bands, int rows) {
+        ReflectionTestUtils.setField(skillDictionary, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(jobSkillIndex, "skillDictionary", skillDictionary);
+        ReflectionTestUtils.setField(minHashLshIndex, "jobSkillIndex", jobSkillIndex);
+        ReflectionTestUtils.setField(minHashLshIndex, "retrieval", retrieval);
+        ReflectionTestUtils.setField(minHashLshIndex, "bands", bands);
+        ReflectionTestUtils.setField(minHashLshIndex, "rows", rows);
+        ReflectionTestUtils.setField(skillWeights, "jobSkillIndex", jobSkillIndex);
+        ReflectionTestUtils.setField(skillWeights, "skillDictionary", skillDictionary);
+        ReflectionTestUtils.setField(skillWeights, "scoring", "uniform");
+        ReflectionTestUtils.setField(matchScoreCache, "maxEntries", 0);
+        
+        List<String> skills = data.skillNames(skillCount);
+        // Intern every skill up front so ids follow popularity, as they roughly do in production
+        skillDictionary.internDistinct(skills);
+        
+        // Jobs are indexed one at a time and dropped, so a million of them fit in a small heap
+        jobIds = new Long[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            Job job = data.job(i + 1, skills);
+            jobSkillIndex.index(job);
+            jobIds[i] = job.getId();
+        }
+        minHashLshIndex.rebuild();
+        
+        candidateSkillIds = new int[candidateCount][];
+        for (int i = 0; i < candidateCount; i++) {
+            candidateSkillIds[i] = skillDictionary.encodeDistinct(data.pickSkills(skills, 3, 10));
+        }
+    }
+    
+    /**
+     * A match service over the fixture's indexes.
+     *
+     * @param topK matches kept per candidate, 0 for all
+     */
+    JobMatchService matchService(int topK) {
+        JobMatchService jobMatchService = new JobMatchService();
+        ReflectionTestUtils.setField(jobMatchService, "jobSkillIndex", jobSkillIndex);
+        ReflectionTestUtils.setField(jobMatchService, "skillDictionary", skillDictionary);
+        ReflectionTestUtils.setField(jobMatchService, "minHashLshIndex", minHashLshIndex);
+        ReflectionTestUtils.setField(jobMatchService, "skillWeights", skillWeights);
+        ReflectionTestUtils.setField(jobMatchService, "matchScoreCache", matchScoreCache);
+        ReflectionTestUtils.setField(jobMatchService, "topK", topK);
+        ReflectionTestUtils.setField(jobMatchService, "minScore", 1);
+        return jobMatchService;
+    }
+    
+    /**
+     * Scores the candidate against every job in the catalog, as matching did before the skill
+     * index: one merge per job, jobs sharing no skill included.
+     */
+    List<JobScore> scoreAllJobs(int[] userSkillIds, List<JobScore> scores) {
+        scores.clear();
+        for (Long jobId : jobIds) {
+            scores.add(new JobScore(jobId, JobMatchService.calculateMatchScore(userSkillIds, jobSkillIndex.getSkillIds(jobId))));
+        }
+        return scores;
+    }
+}
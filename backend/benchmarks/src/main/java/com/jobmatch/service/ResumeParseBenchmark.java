@@ -0,0 +1,145 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Time per resume for each step of {@code ResumeService}'s parse, over a corpus of 10k synthetic
+ * resumes with the shipped skill dictionary and aliases. {@code extractSkillsRegex} is the
+ * per-skill regex scan skills were extracted with before the automaton, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeParseBenchmark {
+    
+    @Param({"10000"})
+    public int corpusSize;
+    
+    private final ResumeService resumeService = new ResumeService();
+    private SkillExtractor extractor;
+    private List<String> dictionary;
+    private String[] uploads;
+    private String[] texts;
+    private ResumeSections[] sections;
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        
+        int next(int size) {
+            next = next + 1 == size ? 0 : next + 1;
+            return next;
+        }
+    }
+    
+    @Setup
+    public void setUp() throws IOException {
+        SkillDictionary skillDictionary = new SkillDictionary();
+        ReflectionTestUtils.setField(skillDictionary, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(skillDictionary, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(skillDictionary, "aliasesLocation", "classpath:skill-aliases.txt");
+        skillDictionary.loadAliases();
+        ReflectionTestUtils.setField(resumeService, "skillDictionary", skillDictionary);
+        ReflectionTestUtils.setField(resumeService, "maxTextLength", 200_000);
+        
+        dictionary = SyntheticData.shippedDictionary();
+        extractor = new SkillExtractor(dictionary);
+        
+        SyntheticData data = new SyntheticData(42);
+        List<String> resumes = data.resumes(corpusSize, data.skillNames(500));
+        uploads = resumes.toArray(new String[0]);
+        texts = new String[corpusSize];
+        sections = new ResumeSections[corpusSize];
+        for (int i = 0; i < corpusSize; i++) {
+            texts[i] = resumeService.extractTextFromResume(new StringReader(uploads[i]));
+            sections[i] = ResumeSections.scan(texts[i]);
+        }
+    }
+    
+    @Benchmark
+    public String readText(Cursor cursor) throws IOException {
+        return resumeService.extractTextFromResume(new StringReader(uploads[cursor.next(corpusSize)]));
+    }
+    
+    @Benchmark
+    public String extractName(Cursor cursor) {
+        return resumeService.extractName(texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public String extractEmail(Cursor cursor) {
+        return resumeService.extractEmail(texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public String extractPhone(Cursor cursor) {
+        return resumeService.extractPhone(texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public List<String> extractSkills(Cursor cursor) {
+        return resumeService.extractSkills(extractor, texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public List<String> extractSkillsRegex(Cursor cursor) {
+        String text = texts[cursor.next(corpusSize)];
+        List<String> skills = new ArrayList<>();
+        for (String skill : dictionary) {
+            if (Pattern.compile("\\b" + skill + "\\b", Pattern.CASE_INSENSITIVE).matcher(text).find()) {
+                skills.add(skill.replaceAll("\\\\", ""));
+            }
+        }
+        return skills;
+    }
+    
+    @Benchmark
+    public ResumeSections scanSections(Cursor cursor) {
+        return ResumeSections.scan(texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public List<String> extractExperience(Cursor cursor) {
+        return resumeService.extractExperience(sections[cursor.next(corpusSize)].getExperience());
+    }
+    
+    @Benchmark
+    public List<String> extractEducation(Cursor cursor) {
+        return resumeService.extractEducation(sections[cursor.next(corpusSize)].getEducation());
+    }
+    
+    @Benchmark
+    public String contentHash(Cursor cursor) {
+        return resumeService.contentHash(extractor, texts[cursor.next(corpusSize)]);
+    }
+    
+    @Benchmark
+    public ResumeContent parse(Cursor cursor) {
+        String text = texts[cursor.next(corpusSize)];
+        return resumeService.extractContent(resumeService.contentHash(extractor, text), extractor, text);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill extraction as the dictionary grows from the 42 shipped skills to 50,000: time per
+ * resume over a 10k-resume corpus, which should stay flat, and the time to compile the
+ * dictionary when it is reloaded.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillExtractionBenchmark {
+    
+    private static final int CORPUS_SIZE = 10_000;
+    
+    @Param({"42", "1000", "10000", "50000"})
+    public int dictionarySize;
+    
+    private List<String> dictionary;
+    private SkillExtractor extractor;
+    private String[] texts;
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+        
+        int next() {
+            next = next + 1 == CORPUS_SIZE ? 0 : next + 1;
+            return next;
+        }
+    }
+    
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        List<String> skills = data.skillNames(50_000);
+        dictionary = SyntheticData.dictionary(skills, dictionarySize);
+        extractor = new SkillExtractor(dictionary);
+        // Resumes mention skills from the largest dictionary, so bigger dictionaries find more
+        texts = data.resumes(CORPUS_SIZE, skills).toArray(new String[0]);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> extract(Cursor cursor) {
+        return extractor.extract(texts[cursor.next()]);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SkillExtractor compile() {
+        return new SkillExtractor(dictionary);
+    }
+}
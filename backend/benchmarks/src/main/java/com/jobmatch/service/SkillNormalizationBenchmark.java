@@ -0,0 +1,125 @@
+package com.jobmatch.service;
+
+import com.jobmatch.benchmarks.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill normalization against a table of 50k aliases: raw strings resolved per second by the
+ * alias automaton, jobs' skill lists encoded per second by the dictionary, and how long the
+ * table takes to compile when it is swapped in.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillNormalizationBenchmark {
+    
+    private static final int INPUTS = 4096;
+    private static final int JOBS = 1024;
+    
+    @Param({"50000"})
+    public int aliasCount;
+    
+    private Map<String, Integer> canonicalIds;
+    private SkillAliasAutomaton automaton;
+    private SkillDictionary skillDictionary;
+    private String[] inputs;
+    private List<List<String>> jobSkills;
+    
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(42);
+        List<String> skills = data.skillNames(5000);
+        Map<String, List<String>> aliasesByCanonical = data.aliases(skills, aliasCount);
+        
+        canonicalIds = new HashMap<>();
+        List<String> knownNames = new ArrayList<>();
+        for (int id = 0; id < skills.size(); id++) {
+            canonicalIds.put(skills.get(id), id);
+            knownNames.add(skills.get(id));
+            for (String alias : aliasesByCanonical.getOrDefault(skills.get(id), List.of())) {
+                canonicalIds.put(alias, id);
+                knownNames.add(alias);
+            }
+        }
+        automaton = SkillAliasAutomaton.compile(canonicalIds);
+        
+        skillDictionary = new SkillDictionary();
+        ReflectionTestUtils.setField(skillDictionary, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        skillDictionary.swapAliases(aliasesByCanonical);
+        
+        // Mostly known names typed with other casing and spacing, some unknown strings
+        inputs = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            String name = knownNames.get(data.nextInt(knownNames.size()));
+            switch (data.nextInt(4)) {
+                case 0:
+                    inputs[i] = name.toUpperCase();
+                    break;
+                case 1:
+                    inputs[i] = "  " + name.replace(" ", "   ") + " ";
+                    break;
+                case 2:
+                    inputs[i] = name + "x";
+                    break;
+                default:
+                    inputs[i] = name;
+            }
+        }
+        
+        jobSkills = new ArrayList<>(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            jobSkills.add(data.pickSkills(knownNames, 3, 12));
+        }
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(INPUTS)
+    public int resolve() {
+        int resolved = 0;
+        for (String input : inputs) {
+            resolved += automaton.resolve(input);
+        }
+        return resolved;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(JOBS)
+    public int encodeJobSkills() {
+        int total = 0;
+        for (List<String> skills : jobSkills) {
+            total += skillDictionary.encode(skills).length;
+        }
+        return total;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SkillAliasAutomaton compile() {
+        return SkillAliasAutomaton.compile(canonicalIds);
+    }
+}
@@ -1,8 +1,11 @@
 
 package com.jobmatch.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
@@ -18,14 +21,31 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
     
+    @Autowired
+    private SecurityProperties securityProperties;
+    
+    // The spring.security.user account, with its password encoded like those of registered users
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        SecurityProperties.User admin = securityProperties.getUser();
+        auth.inMemoryAuthentication()
+            .passwordEncoder(passwordEncoder())
+            .withUser(admin.getName())
+            .password(passwordEncoder().encode(admin.getPassword()))
+            .roles(admin.getRoles().toArray(new String[0]));
+    }
+    
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
             .cors().and()
             .csrf().disable()
             .authorizeRequests()
+            .antMatchers("/api/admin/**").hasRole("ADMIN")
             .antMatchers("/api/**").permitAll()
-            .anyRequest().authenticated();
+            .anyRequest().authenticated()
+            .and()
+            .httpBasic();
     }
     
     @Bean
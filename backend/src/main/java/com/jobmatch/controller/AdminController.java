@@ -0,0 +1,124 @@
+package com.jobmatch.controller;
+
+import com.jobmatch.dto.MatchCacheStatsDTO;
+import com.jobmatch.dto.RematchStatusDTO;
+import com.jobmatch.dto.ResumeCacheStatsDTO;
+import com.jobmatch.dto.TaskQueueStatsDTO;
+import com.jobmatch.model.RematchCheckpoint;
+import com.jobmatch.service.AsyncResumeService;
+import com.jobmatch.service.AsyncTaskQueue;
+import com.jobmatch.service.BulkRematchService;
+import com.jobmatch.service.MatchScoreCache;
+import com.jobmatch.service.ResumeParseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+    
+    @Autowired
+    private BulkRematchService bulkRematchService;
+    
+    @Autowired
+    private MatchScoreCache matchScoreCache;
+    
+    @Autowired
+    private AsyncResumeService asyncResumeService;
+    
+    @Autowired
+    private ResumeParseCache resumeParseCache;
+    
+    @PostMapping("/rematch")
+    public ResponseEntity<RematchStatusDTO> startRematch(@RequestParam(defaultValue = "true") boolean resume) {
+        RematchCheckpoint status = bulkRematchService.start(resume);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(convertToDTO(status));
+    }
+    
+    @GetMapping("/rematch")
+    public ResponseEntity<RematchStatusDTO> getRematchStatus() {
+        return bulkRematchService.getStatus()
+            .map(this::convertToDTO)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/match-cache")
+    public ResponseEntity<MatchCacheStatsDTO> getMatchCacheStats() {
+        MatchScoreCache.Stats stats = matchScoreCache.getStats();
+        MatchCacheStatsDTO dto = new MatchCacheStatsDTO();
+        dto.setSize(stats.getSize());
+        dto.setMaxEntries(stats.getMaxEntries());
+        dto.setScoreCount(stats.getScoreCount());
+        dto.setMaxScores(stats.getMaxScores());
+        dto.setHits(stats.getHits());
+        dto.setMisses(stats.getMisses());
+        dto.setHitRate(stats.getHitRate());
+        dto.setEvictions(stats.getEvictions());
+        dto.setExpirations(stats.getExpirations());
+        dto.setStaleEntries(stats.getStaleEntries());
+        return ResponseEntity.ok(dto);
+    }
+    
+    @DeleteMapping("/match-cache")
+    public ResponseEntity<Void> clearMatchCache() {
+        matchScoreCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/resume-queue")
+    public ResponseEntity<TaskQueueStatsDTO> getResumeQueueStats() {
+        return ResponseEntity.ok(convertToDTO(asyncResumeService.getStats()));
+    }
+    
+    @GetMapping("/resume-cache")
+    public ResponseEntity<ResumeCacheStatsDTO> getResumeCacheStats() {
+        ResumeParseCache.Stats stats = resumeParseCache.getStats();
+        ResumeCacheStatsDTO dto = new ResumeCacheStatsDTO();
+        dto.setSize(stats.getSize());
+        dto.setMaxEntries(stats.getMaxEntries());
+        dto.setHits(stats.getHits());
+        dto.setMisses(stats.getMisses());
+        dto.setUnchanged(stats.getUnchanged());
+        dto.setHitRate(stats.getHitRate());
+        dto.setEvictions(stats.getEvictions());
+        return ResponseEntity.ok(dto);
+    }
+    
+    @DeleteMapping("/resume-cache")
+    public ResponseEntity<Void> clearResumeCache() {
+        resumeParseCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    private TaskQueueStatsDTO convertToDTO(AsyncTaskQueue.Stats stats) {
+        TaskQueueStatsDTO dto = new TaskQueueStatsDTO();
+        dto.setQueueDepth(stats.getQueueDepth());
+        dto.setRemainingCapacity(stats.getRemainingCapacity());
+        dto.setActiveWorkers(stats.getActiveCount());
+        dto.setSubmitted(stats.getSubmitted());
+        dto.setRejected(stats.getRejected());
+        dto.setCompleted(stats.getCompleted());
+        dto.setFailed(stats.getFailed());
+        dto.setAverageWaitMillis(stats.getAverageWaitMillis());
+        dto.setMaxWaitMillis(stats.getMaxWaitMillis());
+        dto.setAverageRunMillis(stats.getAverageRunMillis());
+        dto.setMaxRunMillis(stats.getMaxRunMillis());
+        return dto;
+    }
+    
+    private RematchStatusDTO convertToDTO(RematchCheckpoint checkpoint) {
+        RematchStatusDTO dto = new RematchStatusDTO();
+        dto.setStatus(checkpoint.getStatus());
+        dto.setTotalUsers(checkpoint.getTotalUsers());
+        dto.setProcessedUsers(checkpoint.getProcessedUsers());
+        dto.setLastUserId(checkpoint.getLastUserId());
+        dto.setStartedAt(checkpoint.getStartedAt());
+        dto.setUpdatedAt(checkpoint.getUpdatedAt());
+        dto.setError(checkpoint.getError());
+        return dto;
+    }
+}
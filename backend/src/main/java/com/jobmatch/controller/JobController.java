@@ -68,7 +68,7 @@ public class JobController {
         return ResponseEntity.noContent().build();
     }
     
-    private JobDTO convertToDTO(Job job) {
+    JobDTO convertToDTO(Job job) {
         JobDTO jobDTO = new JobDTO();
         jobDTO.setId(job.getId());
         jobDTO.setTitle(job.getTitle());
@@ -1,44 +1,64 @@
 
 package com.jobmatch.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jobmatch.dto.JobDTO;
+import com.jobmatch.dto.MatchDistributionDTO;
+import com.jobmatch.dto.TaskStatusDTO;
 import com.jobmatch.dto.UserDTO;
 import com.jobmatch.model.JobMatch;
+import com.jobmatch.service.AsyncMatchService;
+import com.jobmatch.service.AsyncTask;
+import com.jobmatch.service.CandidateRanking;
 import com.jobmatch.service.JobMatchService;
+import com.jobmatch.service.MatchDistribution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/matches")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "X-Ranking-Truncated")
 public class JobMatchController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String RANKING_TRUNCATED_HEADER = "X-Ranking-Truncated";
+    
     @Autowired
     private JobMatchService jobMatchService;
     
+    @Autowired
+    private AsyncMatchService asyncMatchService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // How long a client should wait before retrying when the calculation queue is full
+    @Value("${jobmatch.matching.async.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+    
     @GetMapping("/jobs/{userId}")
     public ResponseEntity<List<JobDTO>> getJobMatchesForUser(@PathVariable Long userId) {
         List<JobMatch> matches = jobMatchService.getMatchesForUser(userId);
         
         List<JobDTO> jobDTOs = matches.stream()
-            .map(match -> {
-                JobDTO dto = new JobDTO();
-                dto.setId(match.getJob().getId());
-                dto.setTitle(match.getJob().getTitle());
-                dto.setCompany(match.getJob().getCompany());
-                dto.setLocation(match.getJob().getLocation());
-                dto.setDescription(match.getJob().getDescription());
-                dto.setSalary(match.getJob().getSalary());
-                dto.setType(match.getJob().getType());
-                dto.setPostedDate(match.getJob().getPostedDate());
-                dto.setSkills(match.getJob().getSkills());
-                dto.setMatchScore(match.getMatchScore());
-                return dto;
-            })
+            .map(this::convertToDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(jobDTOs);
@@ -49,40 +69,204 @@ public class JobMatchController {
         List<JobMatch> matches = jobMatchService.getMatchesForJob(jobId);
         
         List<UserDTO> userDTOs = matches.stream()
-            .map(match -> {
-                UserDTO dto = new UserDTO();
-                dto.setId(match.getUser().getId());
-                dto.setName(match.getUser().getName());
-                dto.setEmail(match.getUser().getEmail());
-                dto.setSkills(match.getUser().getSkills());
-                return dto;
-            })
+            .map(this::convertToCandidateDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(userDTOs);
     }
     
+    /**
+     * Score distribution of the job's stored matches, read from the in-memory histogram.
+     */
+    @GetMapping("/distribution/{jobId}")
+    public ResponseEntity<MatchDistributionDTO> getScoreDistribution(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "50,70,90") List<Integer> thresholds) {
+        MatchDistribution distribution = jobMatchService.getScoreDistribution(jobId);
+        
+        Map<Integer, Integer> matchesAtOrAbove = new LinkedHashMap<>();
+        for (Integer threshold : thresholds) {
+            matchesAtOrAbove.put(threshold, distribution.countAtLeast(threshold));
+        }
+        
+        MatchDistributionDTO dto = new MatchDistributionDTO();
+        dto.setJobId(jobId);
+        dto.setTotalMatches(distribution.getTotal());
+        dto.setMatchesAtOrAbove(matchesAtOrAbove);
+        dto.setMedian(distribution.percentile(50));
+        dto.setP90(distribution.percentile(90));
+        dto.setP99(distribution.percentile(99));
+        dto.setHistogram(distribution.getHistogram());
+        return ResponseEntity.ok(dto);
+    }
+    
+    @GetMapping("/candidates/{jobId}/ranked")
+    public ResponseEntity<List<UserDTO>> rankCandidatesForJob(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "20") int limit) {
+        CandidateRanking<JobMatch> ranking = jobMatchService.rankCandidatesForJob(jobId, limit);
+        
+        List<UserDTO> userDTOs = ranking.getCandidates().stream()
+            .map(this::convertToCandidateDTO)
+            .collect(Collectors.toList());
+        
+        // A ranking cut short by its time budget may miss candidates; the client can retry
+        return ResponseEntity.ok()
+            .header(RANKING_TRUNCATED_HEADER, String.valueOf(ranking.isTruncated()))
+            .body(userDTOs);
+    }
+    
     @PostMapping("/calculate")
     public ResponseEntity<List<JobDTO>> calculateMatchesForUser(@RequestParam Long userId) {
         List<JobMatch> matches = jobMatchService.calculateMatchesForUser(userId);
         
         List<JobDTO> jobDTOs = matches.stream()
-            .map(match -> {
-                JobDTO dto = new JobDTO();
-                dto.setId(match.getJob().getId());
-                dto.setTitle(match.getJob().getTitle());
-                dto.setCompany(match.getJob().getCompany());
-                dto.setLocation(match.getJob().getLocation());
-                dto.setDescription(match.getJob().getDescription());
-                dto.setSalary(match.getJob().getSalary());
-                dto.setType(match.getJob().getType());
-                dto.setPostedDate(match.getJob().getPostedDate());
-                dto.setSkills(match.getJob().getSkills());
-                dto.setMatchScore(match.getMatchScore());
-                return dto;
-            })
+            .map(this::convertToDTO)
             .collect(Collectors.toList());
         
         return ResponseEntity.ok(jobDTOs);
     }
+    
+    /**
+     * Streams the calculated matches as NDJSON, or as Server-Sent Events when the client accepts
+     * text/event-stream, writing each page of jobs as soon as it is scored and saved. Best first
+     * in top-K mode.
+     */
+    @PostMapping(value = "/calculate/stream", produces = {"application/x-ndjson", MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamMatchesForUser(
+            @RequestParam Long userId,
+            @RequestHeader(value = "Accept", defaultValue = "application/x-ndjson") String accept) {
+        // Resolve the user before the response is committed, so an unknown user still fails with an error status
+        int[] userSkillIds = jobMatchService.encodeSkillsForUser(userId);
+        boolean sse = accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            try {
+                jobMatchService.streamMatches(userId, userSkillIds, matches -> {
+                    for (JobMatch match : matches) {
+                        writeEvent(out, sse, convertToDTO(match));
+                    }
+                    flush(out);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(sse ? MediaType.TEXT_EVENT_STREAM : APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    /**
+     * Queues the calculation and returns 202 with a task to poll or subscribe to. A calculation
+     * already queued or running for the user is returned instead of starting another.
+     */
+    @PostMapping("/calculate/async")
+    public ResponseEntity<TaskStatusDTO> calculateMatchesForUserAsync(@RequestParam Long userId) {
+        try {
+            AsyncTask<Integer> task = asyncMatchService.submit(userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/matches/tasks/" + task.getId())
+                .body(convertToDTO(task));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+        }
+    }
+    
+    @GetMapping("/tasks/{taskId}")
+    public ResponseEntity<TaskStatusDTO> getTask(@PathVariable String taskId) {
+        return asyncMatchService.getTask(taskId)
+            .map(this::convertToDTO)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Sends the task's current status, then its final status once it finishes, as Server-Sent Events.
+     */
+    @GetMapping(value = "/tasks/{taskId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToTask(@PathVariable String taskId) {
+        return asyncMatchService.getTask(taskId)
+            .map(task -> {
+                SseEmitter emitter = new SseEmitter(0L);
+                if (!task.isDone()) {
+                    try {
+                        emitter.send(SseEmitter.event().name("status").data(convertToDTO(task)));
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                        return ResponseEntity.ok(emitter);
+                    }
+                }
+                task.getCompletion().thenAccept(finished -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("status").data(convertToDTO(finished)));
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+                return ResponseEntity.ok(emitter);
+            })
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private void writeEvent(OutputStream out, boolean sse, JobDTO dto) {
+        try {
+            if (sse) {
+                out.write("data: ".getBytes(StandardCharsets.UTF_8));
+            }
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write(sse ? "\n\n".getBytes(StandardCharsets.UTF_8) : "\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private TaskStatusDTO convertToDTO(AsyncTask<?> task) {
+        TaskStatusDTO dto = new TaskStatusDTO();
+        dto.setId(task.getId());
+        dto.setStatus(task.getStatus());
+        dto.setSubmittedAt(task.getSubmittedAt());
+        dto.setStartedAt(task.getStartedAt());
+        dto.setFinishedAt(task.getFinishedAt());
+        dto.setResult(task.getResult());
+        dto.setError(task.getError());
+        return dto;
+    }
+    
+    JobDTO convertToDTO(JobMatch match) {
+        JobDTO dto = new JobDTO();
+        dto.setId(match.getJob().getId());
+        dto.setTitle(match.getJob().getTitle());
+        dto.setCompany(match.getJob().getCompany());
+        dto.setLocation(match.getJob().getLocation());
+        dto.setDescription(match.getJob().getDescription());
+        dto.setSalary(match.getJob().getSalary());
+        dto.setType(match.getJob().getType());
+        dto.setPostedDate(match.getJob().getPostedDate());
+        dto.setSkills(match.getJob().getSkills());
+        dto.setMatchScore(match.getMatchScore());
+        return dto;
+    }
+    
+    private UserDTO convertToCandidateDTO(JobMatch match) {
+        UserDTO dto = new UserDTO();
+        dto.setId(match.getUser().getId());
+        dto.setName(match.getUser().getName());
+        dto.setEmail(match.getUser().getEmail());
+        dto.setSkills(match.getUser().getSkills());
+        dto.setMatchScore(match.getMatchScore());
+        return dto;
+    }
 }
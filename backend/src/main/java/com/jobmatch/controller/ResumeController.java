@@ -1,16 +1,30 @@
 
 package com.jobmatch.controller;
 
+import com.jobmatch.dto.BulkResumeEntryDTO;
+import com.jobmatch.dto.BulkResumeReportDTO;
 import com.jobmatch.dto.ResumeDTO;
+import com.jobmatch.dto.TaskStatusDTO;
 import com.jobmatch.model.Resume;
+import com.jobmatch.service.AsyncResumeService;
+import com.jobmatch.service.AsyncTask;
+import com.jobmatch.service.BulkResumeResult;
+import com.jobmatch.service.BulkResumeService;
 import com.jobmatch.service.ResumeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/resumes")
@@ -20,6 +34,16 @@ public class ResumeController {
     @Autowired
     private ResumeService resumeService;
     
+    @Autowired
+    private AsyncResumeService asyncResumeService;
+    
+    @Autowired
+    private BulkResumeService bulkResumeService;
+    
+    // How long a client should wait before retrying when the parse queue is full
+    @Value("${jobmatch.resume.async.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+    
     @GetMapping("/{id}")
     public ResponseEntity<ResumeDTO> getResumeById(@PathVariable Long id) {
         return resumeService.getResumeById(id)
@@ -41,14 +65,85 @@ public class ResumeController {
             @RequestParam("userId") Long userId,
             @RequestParam("file") MultipartFile file) {
         
-        try {
-            Resume parsedResume = resumeService.parseResume(userId, file.getBytes());
+        // Parse straight from the upload instead of copying it into memory first
+        try (InputStream resumeFile = file.getInputStream()) {
+            Resume parsedResume = resumeService.parseResume(userId, resumeFile);
             return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(parsedResume));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
     
+    /**
+     * Queues the parse and returns 202 with a task to poll, or 429 when the queue is full.
+     */
+    @PostMapping("/parse/async")
+    public ResponseEntity<TaskStatusDTO> parseResumeAsync(
+            @RequestParam("userId") Long userId,
+            @RequestParam("file") MultipartFile file) {
+        
+        try (InputStream resumeFile = file.getInputStream()) {
+            AsyncTask<Long> task = asyncResumeService.submit(userId, resumeFile);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/resumes/tasks/" + task.getId())
+                .body(convertToDTO(task));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    /**
+     * Parses every resume in a ZIP archive or NDJSON file and reports the outcome of each entry.
+     * Files ending in .ndjson or .jsonl are read as NDJSON, anything else as ZIP.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkResumeReportDTO> ingestResumes(@RequestParam("file") MultipartFile file) {
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase() : "";
+        boolean ndjson = fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")
+            || "application/x-ndjson".equals(file.getContentType());
+        
+        try (InputStream entries = file.getInputStream()) {
+            List<BulkResumeResult> results = ndjson ? bulkResumeService.ingestNdjson(entries) : bulkResumeService.ingestZip(entries);
+            return ResponseEntity.ok(convertToDTO(results));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    /**
+     * Streams a ZIP archive sent as the request body, which unlike a multipart upload is not
+     * held to the multipart size limit.
+     */
+    @PostMapping(value = "/bulk", consumes = "application/zip")
+    public ResponseEntity<BulkResumeReportDTO> ingestResumeArchive(InputStream archive) {
+        try {
+            return ResponseEntity.ok(convertToDTO(bulkResumeService.ingestZip(archive)));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkResumeReportDTO> ingestResumeLines(InputStream lines) {
+        try {
+            return ResponseEntity.ok(convertToDTO(bulkResumeService.ingestNdjson(lines)));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    @GetMapping("/tasks/{taskId}")
+    public ResponseEntity<TaskStatusDTO> getTask(@PathVariable String taskId) {
+        return asyncResumeService.getTask(taskId)
+            .map(this::convertToDTO)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ResumeDTO> updateResume(@PathVariable Long id, @RequestBody Resume updatedResume) {
         return resumeService.updateResume(id, updatedResume)
@@ -57,7 +152,44 @@ public class ResumeController {
             .orElse(ResponseEntity.notFound().build());
     }
     
-    private ResumeDTO convertToDTO(Resume resume) {
+    private static int countStatus(List<BulkResumeResult> results, String status) {
+        return (int) results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
+    
+    private BulkResumeReportDTO convertToDTO(List<BulkResumeResult> results) {
+        BulkResumeReportDTO dto = new BulkResumeReportDTO();
+        dto.setTotal(results.size());
+        dto.setCreated(countStatus(results, "CREATED"));
+        dto.setUpdated(countStatus(results, "UPDATED"));
+        dto.setUnchanged(countStatus(results, "UNCHANGED"));
+        dto.setFailed(countStatus(results, "FAILED"));
+        dto.setEntries(results.stream()
+            .map(result -> {
+                BulkResumeEntryDTO entry = new BulkResumeEntryDTO();
+                entry.setSource(result.getSource());
+                entry.setUserId(result.getUserId());
+                entry.setStatus(result.getStatus());
+                entry.setResumeId(result.getResumeId());
+                entry.setError(result.getError());
+                return entry;
+            })
+            .collect(Collectors.toList()));
+        return dto;
+    }
+    
+    private TaskStatusDTO convertToDTO(AsyncTask<?> task) {
+        TaskStatusDTO dto = new TaskStatusDTO();
+        dto.setId(task.getId());
+        dto.setStatus(task.getStatus());
+        dto.setSubmittedAt(task.getSubmittedAt());
+        dto.setStartedAt(task.getStartedAt());
+        dto.setFinishedAt(task.getFinishedAt());
+        dto.setResult(task.getResult());
+        dto.setError(task.getError());
+        return dto;
+    }
+    
+    ResumeDTO convertToDTO(Resume resume) {
         ResumeDTO dto = new ResumeDTO();
         dto.setId(resume.getId());
         dto.setUserId(resume.getUser().getId());
@@ -0,0 +1,25 @@
+package com.jobmatch.dto;
+
+public class BulkResumeEntryDTO {
+    private String source;
+    private Long userId;
+    private String status;
+    private Long resumeId;
+    private String error;
+    
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getResumeId() { return resumeId; }
+    public void setResumeId(Long resumeId) { this.resumeId = resumeId; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
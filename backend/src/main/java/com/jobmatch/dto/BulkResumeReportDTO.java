@@ -0,0 +1,31 @@
+package com.jobmatch.dto;
+
+import java.util.List;
+
+public class BulkResumeReportDTO {
+    private Integer total;
+    private Integer created;
+    private Integer updated;
+    private Integer unchanged;
+    private Integer failed;
+    private List<BulkResumeEntryDTO> entries;
+    
+    // Getters and Setters
+    public Integer getTotal() { return total; }
+    public void setTotal(Integer total) { this.total = total; }
+    
+    public Integer getCreated() { return created; }
+    public void setCreated(Integer created) { this.created = created; }
+    
+    public Integer getUpdated() { return updated; }
+    public void setUpdated(Integer updated) { this.updated = updated; }
+    
+    public Integer getUnchanged() { return unchanged; }
+    public void setUnchanged(Integer unchanged) { this.unchanged = unchanged; }
+    
+    public Integer getFailed() { return failed; }
+    public void setFailed(Integer failed) { this.failed = failed; }
+    
+    public List<BulkResumeEntryDTO> getEntries() { return entries; }
+    public void setEntries(List<BulkResumeEntryDTO> entries) { this.entries = entries; }
+}
@@ -0,0 +1,45 @@
+package com.jobmatch.dto;
+
+public class MatchCacheStatsDTO {
+    private Integer size;
+    private Integer maxEntries;
+    private Long scoreCount;
+    private Long maxScores;
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long evictions;
+    private Long expirations;
+    private Long staleEntries;
+    
+    // Getters and Setters
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    
+    public Integer getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(Integer maxEntries) { this.maxEntries = maxEntries; }
+    
+    public Long getScoreCount() { return scoreCount; }
+    public void setScoreCount(Long scoreCount) { this.scoreCount = scoreCount; }
+    
+    public Long getMaxScores() { return maxScores; }
+    public void setMaxScores(Long maxScores) { this.maxScores = maxScores; }
+    
+    public Long getHits() { return hits; }
+    public void setHits(Long hits) { this.hits = hits; }
+    
+    public Long getMisses() { return misses; }
+    public void setMisses(Long misses) { this.misses = misses; }
+    
+    public Double getHitRate() { return hitRate; }
+    public void setHitRate(Double hitRate) { this.hitRate = hitRate; }
+    
+    public Long getEvictions() { return evictions; }
+    public void setEvictions(Long evictions) { this.evictions = evictions; }
+    
+    public Long getExpirations() { return expirations; }
+    public void setExpirations(Long expirations) { this.expirations = expirations; }
+    
+    public Long getStaleEntries() { return staleEntries; }
+    public void setStaleEntries(Long staleEntries) { this.staleEntries = staleEntries; }
+}
@@ -0,0 +1,35 @@
+package com.jobmatch.dto;
+
+import java.util.Map;
+
+public class MatchDistributionDTO {
+    private Long jobId;
+    private Integer totalMatches;
+    private Map<Integer, Integer> matchesAtOrAbove;
+    private Integer median;
+    private Integer p90;
+    private Integer p99;
+    private int[] histogram;
+    
+    // Getters and Setters
+    public Long getJobId() { return jobId; }
+    public void setJobId(Long jobId) { this.jobId = jobId; }
+    
+    public Integer getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(Integer totalMatches) { this.totalMatches = totalMatches; }
+    
+    public Map<Integer, Integer> getMatchesAtOrAbove() { return matchesAtOrAbove; }
+    public void setMatchesAtOrAbove(Map<Integer, Integer> matchesAtOrAbove) { this.matchesAtOrAbove = matchesAtOrAbove; }
+    
+    public Integer getMedian() { return median; }
+    public void setMedian(Integer median) { this.median = median; }
+    
+    public Integer getP90() { return p90; }
+    public void setP90(Integer p90) { this.p90 = p90; }
+    
+    public Integer getP99() { return p99; }
+    public void setP99(Integer p99) { this.p99 = p99; }
+    
+    public int[] getHistogram() { return histogram; }
+    public void setHistogram(int[] histogram) { this.histogram = histogram; }
+}
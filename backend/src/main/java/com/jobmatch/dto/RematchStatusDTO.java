@@ -0,0 +1,35 @@
+package com.jobmatch.dto;
+
+import java.time.LocalDateTime;
+
+public class RematchStatusDTO {
+    private String status;
+    private Integer totalUsers;
+    private Integer processedUsers;
+    private Long lastUserId;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private String error;
+    
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Integer getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(Integer totalUsers) { this.totalUsers = totalUsers; }
+    
+    public Integer getProcessedUsers() { return processedUsers; }
+    public void setProcessedUsers(Integer processedUsers) { this.processedUsers = processedUsers; }
+    
+    public Long getLastUserId() { return lastUserId; }
+    public void setLastUserId(Long lastUserId) { this.lastUserId = lastUserId; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
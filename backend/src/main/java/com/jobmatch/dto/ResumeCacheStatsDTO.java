@@ -0,0 +1,33 @@
+package com.jobmatch.dto;
+
+public class ResumeCacheStatsDTO {
+    private Integer size;
+    private Integer maxEntries;
+    private Long hits;
+    private Long misses;
+    private Long unchanged;
+    private Double hitRate;
+    private Long evictions;
+    
+    // Getters and Setters
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    
+    public Integer getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(Integer maxEntries) { this.maxEntries = maxEntries; }
+    
+    public Long getHits() { return hits; }
+    public void setHits(Long hits) { this.hits = hits; }
+    
+    public Long getMisses() { return misses; }
+    public void setMisses(Long misses) { this.misses = misses; }
+    
+    public Long getUnchanged() { return unchanged; }
+    public void setUnchanged(Long unchanged) { this.unchanged = unchanged; }
+    
+    public Double getHitRate() { return hitRate; }
+    public void setHitRate(Double hitRate) { this.hitRate = hitRate; }
+    
+    public Long getEvictions() { return evictions; }
+    public void setEvictions(Long evictions) { this.evictions = evictions; }
+}
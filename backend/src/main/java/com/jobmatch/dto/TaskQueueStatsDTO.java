@@ -0,0 +1,49 @@
+package com.jobmatch.dto;
+
+public class TaskQueueStatsDTO {
+    private Integer queueDepth;
+    private Integer remainingCapacity;
+    private Integer activeWorkers;
+    private Long submitted;
+    private Long rejected;
+    private Long completed;
+    private Long failed;
+    private Double averageWaitMillis;
+    private Double maxWaitMillis;
+    private Double averageRunMillis;
+    private Double maxRunMillis;
+    
+    // Getters and Setters
+    public Integer getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(Integer queueDepth) { this.queueDepth = queueDepth; }
+    
+    public Integer getRemainingCapacity() { return remainingCapacity; }
+    public void setRemainingCapacity(Integer remainingCapacity) { this.remainingCapacity = remainingCapacity; }
+    
+    public Integer getActiveWorkers() { return activeWorkers; }
+    public void setActiveWorkers(Integer activeWorkers) { this.activeWorkers = activeWorkers; }
+    
+    public Long getSubmitted() { return submitted; }
+    public void setSubmitted(Long submitted) { this.submitted = submitted; }
+    
+    public Long getRejected() { return rejected; }
+    public void setRejected(Long rejected) { this.rejected = rejected; }
+    
+    public Long getCompleted() { return completed; }
+    public void setCompleted(Long completed) { this.completed = completed; }
+    
+    public Long getFailed() { return failed; }
+    public void setFailed(Long failed) { this.failed = failed; }
+    
+    public Double getAverageWaitMillis() { return averageWaitMillis; }
+    public void setAverageWaitMillis(Double averageWaitMillis) { this.averageWaitMillis = averageWaitMillis; }
+    
+    public Double getMaxWaitMillis() { return maxWaitMillis; }
+    public void setMaxWaitMillis(Double maxWaitMillis) { this.maxWaitMillis = maxWaitMillis; }
+    
+    public Double getAverageRunMillis() { return averageRunMillis; }
+    public void setAverageRunMillis(Double averageRunMillis) { this.averageRunMillis = averageRunMillis; }
+    
+    public Double getMaxRunMillis() { return maxRunMillis; }
+    public void setMaxRunMillis(Double maxRunMillis) { this.maxRunMillis = maxRunMillis; }
+}
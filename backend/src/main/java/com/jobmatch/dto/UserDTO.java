@@ -15,6 +15,7 @@ public class UserDTO {
     private String profileTitle;
     private Integer experienceYears;
     private String profileSummary;
+    private Integer matchScore;
     
     // Getters and Setters
     public Long getId() { return id; }
@@ -49,4 +50,7 @@ public class UserDTO {
     
     public String getProfileSummary() { return profileSummary; }
     public void setProfileSummary(String profileSummary) { this.profileSummary = profileSummary; }
+    
+    public Integer getMatchScore() { return matchScore; }
+    public void setMatchScore(Integer matchScore) { this.matchScore = matchScore; }
 }
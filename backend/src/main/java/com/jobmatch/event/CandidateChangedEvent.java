@@ -0,0 +1,14 @@
+package com.jobmatch.event;
+
+/**
+ * Published after a change to the skills a candidate is matched on, from their profile or resume.
+ */
+public class CandidateChangedEvent {
+    private final Long userId;
+    
+    public CandidateChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getUserId() { return userId; }
+}
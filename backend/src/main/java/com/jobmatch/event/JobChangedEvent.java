@@ -0,0 +1,18 @@
+package com.jobmatch.event;
+
+/**
+ * Published after a job is created, updated or deleted.
+ */
+public class JobChangedEvent {
+    private final Long jobId;
+    private final boolean deleted;
+    
+    public JobChangedEvent(Long jobId, boolean deleted) {
+        this.jobId = jobId;
+        this.deleted = deleted;
+    }
+    
+    public Long getJobId() { return jobId; }
+    
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,15 @@
+package com.jobmatch.event;
+
+/**
+ * Published after the skill alias table is replaced at runtime. Skill ids encoded before the
+ * swap may no longer be canonical, so skill indexes rebuild on it.
+ */
+public class SkillAliasesChangedEvent {
+    private final int aliasCount;
+    
+    public SkillAliasesChangedEvent(int aliasCount) {
+        this.aliasCount = aliasCount;
+    }
+    
+    public int getAliasCount() { return aliasCount; }
+}
@@ -7,7 +7,8 @@ import java.util.Map;
 @Entity
 public class Assessment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assessment_seq")
+    @SequenceGenerator(name = "assessment_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
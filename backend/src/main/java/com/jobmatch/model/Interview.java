@@ -7,7 +7,8 @@ import java.util.Date;
 @Entity
 public class Interview {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interview_seq")
+    @SequenceGenerator(name = "interview_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -7,7 +7,8 @@ import javax.persistence.*;
 @Entity
 public class Job {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_seq")
+    @SequenceGenerator(name = "job_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String company;
@@ -17,7 +18,8 @@ public class Job {
     private String type;
     private String postedDate;
     
-    @ElementCollection
+    @Convert(converter = StringListConverter.class)
+    @Column(length = StringListConverter.COLUMN_LENGTH)
     private List<String> skills;
     
     // Getters and Setters
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Entity
 public class JobApplication {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_application_seq")
+    @SequenceGenerator(name = "job_application_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
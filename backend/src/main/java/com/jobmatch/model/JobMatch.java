@@ -1,12 +1,16 @@
 
 package com.jobmatch.model;
 
+import com.jobmatch.service.MatchDistributionListener;
+
 import javax.persistence.*;
 
 @Entity
+@EntityListeners(MatchDistributionListener.class)
 public class JobMatch {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_match_seq")
+    @SequenceGenerator(name = "job_match_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -17,6 +21,10 @@ public class JobMatch {
     
     private Integer matchScore;
     
+    // Score as last read from or written to the database, so listeners can tell what changed
+    @Transient
+    private Integer persistedScore;
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -29,4 +37,7 @@ public class JobMatch {
     
     public Integer getMatchScore() { return matchScore; }
     public void setMatchScore(Integer matchScore) { this.matchScore = matchScore; }
+    
+    public Integer getPersistedScore() { return persistedScore; }
+    public void setPersistedScore(Integer persistedScore) { this.persistedScore = persistedScore; }
 }
@@ -0,0 +1,51 @@
+package com.jobmatch.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+public class RematchCheckpoint {
+    @Id
+    private Long id;
+    
+    private String status; // "RUNNING", "COMPLETED", "FAILED"
+    
+    // Every user with an id up to and including this one has been rematched
+    private Long lastUserId;
+    
+    private Integer totalUsers;
+    
+    private Integer processedUsers;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime updatedAt;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getLastUserId() { return lastUserId; }
+    public void setLastUserId(Long lastUserId) { this.lastUserId = lastUserId; }
+    
+    public Integer getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(Integer totalUsers) { this.totalUsers = totalUsers; }
+    
+    public Integer getProcessedUsers() { return processedUsers; }
+    public void setProcessedUsers(Integer processedUsers) { this.processedUsers = processedUsers; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -7,7 +7,8 @@ import javax.persistence.*;
 @Entity
 public class Resume {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_seq")
+    @SequenceGenerator(name = "resume_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne
@@ -17,13 +18,20 @@ public class Resume {
     private String email;
     private String phone;
     
-    @ElementCollection
+    // SHA-256 of the parsed text and the skill dictionary it was parsed with
+    @Column(length = 64)
+    private String contentHash;
+    
+    @Convert(converter = StringListConverter.class)
+    @Column(length = StringListConverter.COLUMN_LENGTH)
     private List<String> skills;
     
-    @ElementCollection
+    @Convert(converter = StringListConverter.class)
+    @Column(length = StringListConverter.COLUMN_LENGTH)
     private List<String> experience;
     
-    @ElementCollection
+    @Convert(converter = StringListConverter.class)
+    @Column(length = StringListConverter.COLUMN_LENGTH)
     private List<String> education;
     
     // Getters and Setters
@@ -42,6 +50,9 @@ public class Resume {
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
     
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    
     public List<String> getSkills() { return skills; }
     public void setSkills(List<String> skills) { this.skills = skills; }
     
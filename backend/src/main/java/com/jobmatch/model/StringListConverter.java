@@ -0,0 +1,74 @@
+package com.jobmatch.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a list of strings in a single text column, one entry per line, instead of a collection
+ * table. Changing the list then rewrites one column of its owner's row, and loading the owner
+ * loads the list with it. Backslashes and line breaks inside entries are escaped.
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+    
+    // Maps to a text type (longtext on MySQL) rather than an inline varchar
+    public static final int COLUMN_LENGTH = 1_000_000;
+    
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                encoded.append('\n');
+            }
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\') {
+                    encoded.append("\\\\");
+                } else if (c == '\n') {
+                    encoded.append("\\n");
+                } else if (c == '\r') {
+                    encoded.append("\\r");
+                } else {
+                    encoded.append(c);
+                }
+            }
+        }
+        // An empty list is stored as null, since an empty string would read back as one entry
+        return values.isEmpty() ? null : encoded.toString();
+    }
+    
+    @Override
+    public List<String> convertToEntityAttribute(String encoded) {
+        List<String> values = new ArrayList<>();
+        if (encoded == null) {
+            return values;
+        }
+        
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '\n') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\\' && i + 1 < encoded.length()) {
+                char escaped = encoded.charAt(++i);
+                value.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
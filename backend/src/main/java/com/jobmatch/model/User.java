@@ -9,7 +9,8 @@ import java.util.ArrayList;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -42,9 +43,8 @@ public class User {
     @Column(name = "profile_summary", length = 1000)
     private String profileSummary;
     
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_skills", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "skill")
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "skills", length = StringListConverter.COLUMN_LENGTH)
     private List<String> skills = new ArrayList<>();
     
     // Constructors
@@ -4,13 +4,54 @@ package com.jobmatch.repository;
 import com.jobmatch.model.Job;
 import com.jobmatch.model.JobMatch;
 import com.jobmatch.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface JobMatchRepository extends JpaRepository<JobMatch, Long> {
+    @EntityGraph(attributePaths = "job")
     List<JobMatch> findByUser(User user);
+    
+    @EntityGraph(attributePaths = "job")
+    List<JobMatch> findByUserOrderByMatchScoreDesc(User user, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "job")
+    List<JobMatch> findByUserAndJobIdIn(User user, Collection<Long> jobIds);
+    
+    @Query("select m.id, m.job.id, m.matchScore from JobMatch m where m.user = :user")
+    List<Object[]> findScoresByUser(User user);
+    
+    @Query("select m.id, m.user.id, m.job.id, m.matchScore from JobMatch m where m.user.id in :userIds"
+        + " and m.matchScore = (select min(o.matchScore) from JobMatch o where o.user = m.user) order by m.id")
+    List<Object[]> findLowestScoresByUserIdIn(Collection<Long> userIds);
+    
+    @Query("select distinct m.user.id from JobMatch m where m.user.id in :userIds")
+    List<Long> findUserIdsWithMatches(Collection<Long> userIds);
+    
+    @Query("select m.user.id, count(m), min(m.matchScore) from JobMatch m where m.user.id in :userIds group by m.user.id")
+    List<Object[]> countAndMinScoreByUserIdIn(Collection<Long> userIds);
+    
+    @EntityGraph(attributePaths = "user")
     List<JobMatch> findByJob(Job job);
+    
+    @Query("select m.job.id, m.matchScore, count(m) from JobMatch m where m.matchScore is not null group by m.job.id, m.matchScore")
+    List<Object[]> countByJobAndScore();
+    
+    @Query("select m.id, m.matchScore from JobMatch m where m.id in :ids")
+    List<Object[]> findScoresByIdIn(Collection<Long> ids);
+    
+    @Modifying
+    @Query("delete from JobMatch m where m.job.id = :jobId")
+    void deleteByJobId(Long jobId);
+    
+    @Modifying
+    @Query("delete from JobMatch m where m.user.id = :userId")
+    void deleteByUserId(Long userId);
 }
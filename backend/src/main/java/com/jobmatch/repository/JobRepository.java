@@ -3,12 +3,17 @@ package com.jobmatch.repository;
 
 import com.jobmatch.model.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
     List<Job> findByCompany(String company);
-    List<Job> findBySkillsContaining(String skill);
+    
+    @Query("select j.id, j.skills from Job j")
+    Stream<Object[]> streamJobSkills();
 }
@@ -0,0 +1,9 @@
+package com.jobmatch.repository;
+
+import com.jobmatch.model.RematchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RematchCheckpointRepository extends JpaRepository<RematchCheckpoint, Long> {
+}
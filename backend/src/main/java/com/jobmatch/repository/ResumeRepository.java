@@ -4,11 +4,22 @@ package com.jobmatch.repository;
 import com.jobmatch.model.Resume;
 import com.jobmatch.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
-    Optional<Resume> findByUser(User user);
+    // The latest, should a user have more than one
+    Optional<Resume> findFirstByUserOrderByIdDesc(User user);
+    
+    List<Resume> findByUserIn(Collection<User> users);
+    
+    // Oldest first, so a user's latest resume comes last
+    @Query("select r.user.id, r.skills from Resume r order by r.id")
+    Stream<Object[]> streamResumeSkills();
 }
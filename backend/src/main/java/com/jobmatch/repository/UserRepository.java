@@ -3,11 +3,21 @@ package com.jobmatch.repository;
 
 import com.jobmatch.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+    List<User> findByUserType(String userType);
+    
+    @Query("select u.id, u.skills from User u")
+    Stream<Object[]> streamUserSkills();
+    
+    @Query("select u.id from User u where u.id > :id order by u.id")
+    List<Long> findIdsAfter(Long id);
 }
@@ -0,0 +1,56 @@
+package com.jobmatch.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Calculates matches off the request thread. The task result is the number of matches saved;
+ * clients read the matches themselves from {@code GET /api/matches/jobs/{userId}}.
+ */
+@Service
+public class AsyncMatchService {
+    
+    @Autowired
+    private JobMatchService jobMatchService;
+    
+    @Value("${jobmatch.matching.async.threads:4}")
+    private int threads;
+    
+    @Value("${jobmatch.matching.async.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${jobmatch.matching.async.retention-seconds:600}")
+    private long retentionSeconds;
+    
+    private AsyncTaskQueue<Integer> tasks;
+    
+    @PostConstruct
+    public void init() {
+        tasks = new AsyncTaskQueue<>("match-calculation", threads, queueCapacity, Duration.ofSeconds(retentionSeconds));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        tasks.shutdown();
+    }
+    
+    /**
+     * Queues a calculation for the user, or returns the one already queued or running for them.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException when the queue is full
+     */
+    public AsyncTask<Integer> submit(Long userId) {
+        return tasks.submit("user:" + userId, () -> jobMatchService.calculateMatchesForUser(userId).size());
+    }
+    
+    public Optional<AsyncTask<Integer>> getTask(String taskId) {
+        return tasks.get(taskId);
+    }
+}
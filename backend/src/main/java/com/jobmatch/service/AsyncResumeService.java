@@ -0,0 +1,66 @@
+package com.jobmatch.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Parses resumes off the request thread. The upload is read on the caller's thread, since it
+ * is gone once the request ends, and parsed and saved by a worker. The task result is the id
+ * of the saved resume; clients read it from {@code GET /api/resumes/{id}}.
+ */
+@Service
+public class AsyncResumeService {
+    
+    @Autowired
+    private ResumeService resumeService;
+    
+    @Value("${jobmatch.resume.async.threads:2}")
+    private int threads;
+    
+    @Value("${jobmatch.resume.async.queue-capacity:50}")
+    private int queueCapacity;
+    
+    @Value("${jobmatch.resume.async.retention-seconds:600}")
+    private long retentionSeconds;
+    
+    private AsyncTaskQueue<Long> tasks;
+    
+    @PostConstruct
+    public void init() {
+        tasks = new AsyncTaskQueue<>("resume-parse", threads, queueCapacity, Duration.ofSeconds(retentionSeconds));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        tasks.shutdown();
+    }
+    
+    /**
+     * Queues a parse of the upload. Every upload gets its own task, so a newer file for the
+     * same user is never folded into an older one.
+     *
+     * @throws IOException when the upload cannot be read
+     * @throws java.util.concurrent.RejectedExecutionException when the queue is full
+     */
+    public AsyncTask<Long> submit(Long userId, InputStream resumeFile) throws IOException {
+        String resumeText = resumeService.readResumeText(resumeFile);
+        return tasks.submit(() -> resumeService.parseResumeText(userId, resumeText).getId());
+    }
+    
+    public Optional<AsyncTask<Long>> getTask(String taskId) {
+        return tasks.get(taskId);
+    }
+    
+    public AsyncTaskQueue.Stats getStats() {
+        return tasks.getStats();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jobmatch.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle for work running on an {@link AsyncTaskQueue}. Status moves from QUEUED through
+ * RUNNING to COMPLETED or FAILED; the future completes with the result either way.
+ */
+public class AsyncTask<T> {
+    
+    private final String id = UUID.randomUUID().toString();
+    private final String key;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CompletableFuture<AsyncTask<T>> completion = new CompletableFuture<>();
+    
+    private volatile String status = "QUEUED";
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile T result;
+    private volatile String error;
+    
+    AsyncTask(String key) {
+        this.key = key;
+    }
+    
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = "RUNNING";
+    }
+    
+    void complete(T result) {
+        this.result = result;
+        finish("COMPLETED");
+    }
+    
+    void fail(Throwable error) {
+        this.error = error.toString();
+        finish("FAILED");
+    }
+    
+    private void finish(String status) {
+        finishedAt = LocalDateTime.now();
+        this.status = status;
+        completion.complete(this);
+    }
+    
+    public boolean isDone() {
+        return completion.isDone();
+    }
+    
+    /**
+     * Completes with this task once it has finished, successfully or not.
+     */
+    public CompletableFuture<AsyncTask<T>> getCompletion() { return completion; }
+    
+    public String getId() { return id; }
+    
+    public String getKey() { return key; }
+    
+    public String getStatus() { return status; }
+    
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    
+    public T getResult() { return result; }
+    
+    public String getError() { return error; }
+}
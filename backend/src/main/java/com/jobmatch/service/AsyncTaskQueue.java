@@ -0,0 +1,238 @@
+package com.jobmatch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on a fixed pool of threads behind a bounded queue, handing out {@link AsyncTask}
+ * handles that callers poll or subscribe to. Submissions with the key of a task still queued or
+ * running get that task instead of a new one. Finished tasks are kept for the retention period.
+ * Queue depth, rejections and how long tasks waited and ran are kept as {@link Stats}.
+ */
+public class AsyncTaskQueue<T> {
+    
+    private static final Logger log = LoggerFactory.getLogger(AsyncTaskQueue.class);
+    
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    
+    // Insertion ordered, so expired tasks are found at the head
+    private final Map<String, AsyncTask<T>> tasks = new LinkedHashMap<>();
+    private final Map<String, AsyncTask<T>> inFlight = new HashMap<>();
+    
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    
+    public AsyncTaskQueue(String name, int threads, int queueCapacity, Duration retention) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.name = name;
+        this.retention = retention;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+    
+    /**
+     * Queues the work, or returns the unfinished task already submitted under the same key.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public synchronized AsyncTask<T> submit(String key, Supplier<T> work) {
+        purgeExpired();
+        
+        AsyncTask<T> running = key != null ? inFlight.get(key) : null;
+        if (running != null) {
+            return running;
+        }
+        
+        AsyncTask<T> task = new AsyncTask<>(key);
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(task, work, queuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+        submitted.incrementAndGet();
+        tasks.put(task.getId(), task);
+        if (key != null) {
+            inFlight.put(key, task);
+        }
+        return task;
+    }
+    
+    /**
+     * Queues the work as a task of its own, never shared with another submission.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public AsyncTask<T> submit(Supplier<T> work) {
+        return submit(null, work);
+    }
+    
+    public synchronized Optional<AsyncTask<T>> get(String id) {
+        purgeExpired();
+        return Optional.ofNullable(tasks.get(id));
+    }
+    
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+    
+    public int getRemainingCapacity() {
+        return executor.getQueue().remainingCapacity();
+    }
+    
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    public Stats getStats() {
+        return new Stats(getQueueDepth(), getRemainingCapacity(), getActiveCount(), submitted.get(), rejected.get(),
+            started.get(), completed.get(), failed.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+            totalRunNanos.get(), maxRunNanos.get());
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private void run(AsyncTask<T> task, Supplier<T> work, long queuedAt) {
+        long startedAt = System.nanoTime();
+        record(startedAt - queuedAt, totalWaitNanos, maxWaitNanos);
+        started.incrementAndGet();
+        task.start();
+        try {
+            task.complete(work.get());
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("{} task {} failed", name, task.getId(), e);
+            task.fail(e);
+            failed.incrementAndGet();
+        } catch (Error e) {
+            // Fail the task before the error unwinds the worker, so its subscribers are not left waiting
+            log.error("{} task {} failed", name, task.getId(), e);
+            task.fail(e);
+            failed.incrementAndGet();
+            throw e;
+        } finally {
+            record(System.nanoTime() - startedAt, totalRunNanos, maxRunNanos);
+            if (task.getKey() != null) {
+                synchronized (this) {
+                    inFlight.remove(task.getKey(), task);
+                }
+            }
+        }
+    }
+    
+    private static void record(long nanos, AtomicLong total, AtomicLong max) {
+        total.addAndGet(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+    
+    private void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Iterator<AsyncTask<T>> iterator = tasks.values().iterator();
+        while (iterator.hasNext()) {
+            AsyncTask<T> task = iterator.next();
+            if (task.getSubmittedAt().isAfter(cutoff)) {
+                break;
+            }
+            // Old but unfinished tasks stay until they finish
+            if (task.isDone() && task.getFinishedAt().isBefore(cutoff)) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    public static class Stats {
+        private final int queueDepth;
+        private final int remainingCapacity;
+        private final int activeCount;
+        private final long submitted;
+        private final long rejected;
+        private final long started;
+        private final long completed;
+        private final long failed;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long totalRunNanos;
+        private final long maxRunNanos;
+        
+        private Stats(int queueDepth, int remainingCapacity, int activeCount, long submitted, long rejected,
+                long started, long completed, long failed, long totalWaitNanos, long maxWaitNanos,
+                long totalRunNanos, long maxRunNanos) {
+            this.queueDepth = queueDepth;
+            this.remainingCapacity = remainingCapacity;
+            this.activeCount = activeCount;
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.started = started;
+            this.completed = completed;
+            this.failed = failed;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.totalRunNanos = totalRunNanos;
+            this.maxRunNanos = maxRunNanos;
+        }
+        
+        public int getQueueDepth() { return queueDepth; }
+        
+        public int getRemainingCapacity() { return remainingCapacity; }
+        
+        public int getActiveCount() { return activeCount; }
+        
+        public long getSubmitted() { return submitted; }
+        
+        public long getRejected() { return rejected; }
+        
+        public long getCompleted() { return completed; }
+        
+        public long getFailed() { return failed; }
+        
+        /**
+         * Mean time tasks spent in the queue before a worker picked them up.
+         */
+        public double getAverageWaitMillis() {
+            return started == 0 ? 0 : totalWaitNanos / 1e6 / started;
+        }
+        
+        public double getMaxWaitMillis() { return maxWaitNanos / 1e6; }
+        
+        /**
+         * Mean time finished tasks took to run.
+         */
+        public double getAverageRunMillis() {
+            long finished = completed + failed;
+            return finished == 0 ? 0 : totalRunNanos / 1e6 / finished;
+        }
+        
+        public double getMaxRunMillis() { return maxRunNanos / 1e6; }
+    }
+}
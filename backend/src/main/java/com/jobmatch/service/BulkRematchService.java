@@ -0,0 +1,273 @@
+package com.jobmatch.service;
+
+import com.jobmatch.model.RematchCheckpoint;
+import com.jobmatch.repository.RematchCheckpointRepository;
+import com.jobmatch.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rematches the whole user base. Users are split into chunks that are scored in parallel on a
+ * ForkJoinPool sized to the cores, while a single writer persists finished chunks from a bounded
+ * queue. A checkpoint records the highest user id below which every chunk has been written,
+ * so an interrupted run resumes from there.
+ */
+@Service
+public class BulkRematchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkRematchService.class);
+    
+    private static final Long CHECKPOINT_ID = 1L;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JobMatchService jobMatchService;
+    
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+    
+    @Autowired
+    private RematchCheckpointRepository checkpointRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${jobmatch.bulk-rematch.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${jobmatch.bulk-rematch.queue-capacity:16}")
+    private int queueCapacity;
+    
+    private RematchCheckpoint checkpoint;
+    private boolean running;
+    
+    @Scheduled(cron = "${jobmatch.bulk-rematch.cron:-}")
+    public void scheduledRematch() {
+        start(true);
+    }
+    
+    /**
+     * Starts a run unless one is already in progress. With {@code resume} set, a run that did not
+     * complete continues after its checkpoint; otherwise every user is rematched.
+     */
+    public synchronized RematchCheckpoint start(boolean resume) {
+        if (running) {
+            return snapshot();
+        }
+        
+        Long fromUserId = 0L;
+        Optional<RematchCheckpoint> previous = checkpointRepository.findById(CHECKPOINT_ID);
+        if (resume && previous.isPresent() && !"COMPLETED".equals(previous.get().getStatus())
+                && previous.get().getLastUserId() != null) {
+            fromUserId = previous.get().getLastUserId();
+        }
+        
+        long[] userIds = userRepository.findIdsAfter(fromUserId).stream().mapToLong(Long::longValue).toArray();
+        
+        checkpoint = new RematchCheckpoint();
+        checkpoint.setId(CHECKPOINT_ID);
+        checkpoint.setStatus("RUNNING");
+        checkpoint.setLastUserId(fromUserId);
+        checkpoint.setTotalUsers(userIds.length);
+        checkpoint.setProcessedUsers(0);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(checkpoint.getStartedAt());
+        checkpointRepository.save(checkpoint);
+        running = true;
+        
+        Thread coordinator = new Thread(() -> run(userIds), "bulk-rematch");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        
+        return snapshot();
+    }
+    
+    public synchronized Optional<RematchCheckpoint> getStatus() {
+        if (checkpoint != null) {
+            return Optional.of(snapshot());
+        }
+        return checkpointRepository.findById(CHECKPOINT_ID);
+    }
+    
+    private void run(long[] userIds) {
+        int chunkCount = (userIds.length + chunkSize - 1) / chunkSize;
+        BlockingQueue<ScoredChunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        // Workers blocked on a full queue get at most one spare each, and wait without one beyond that
+        ForkJoinPool pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+            0, 2 * parallelism, 1, saturated -> true, 60, TimeUnit.SECONDS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        try {
+            ForkJoinTask<Void> scoring = pool.submit(new ScoreChunks(userIds, 0, chunkCount, queue));
+            boolean[] written = new boolean[chunkCount];
+            int writtenPrefix = 0;
+            
+            for (int remaining = chunkCount; remaining > 0; ) {
+                ScoredChunk chunk = queue.poll(1, TimeUnit.SECONDS);
+                if (chunk == null) {
+                    if (scoring.isCompletedAbnormally()) {
+                        throw new IllegalStateException("Scoring failed", scoring.getException());
+                    }
+                    continue;
+                }
+                
+                transaction.executeWithoutResult(status -> {
+                    for (int i = 0; i < chunk.scores.size(); i++) {
+                        jobMatchService.saveMatches(userRepository.getReferenceById(chunk.userIds[i]), chunk.scores.get(i));
+                    }
+                });
+                remaining--;
+                
+                // Chunks finish out of order; only a fully written prefix is safe to resume after
+                written[chunk.index] = true;
+                while (writtenPrefix < chunkCount && written[writtenPrefix]) {
+                    writtenPrefix++;
+                }
+                Long lastUserId = writtenPrefix > 0 ? userIds[Math.min(writtenPrefix * chunkSize, userIds.length) - 1] : null;
+                updateCheckpoint(chunk.userIds.length, lastUserId, "RUNNING", null);
+            }
+            
+            updateCheckpoint(0, null, "COMPLETED", null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            updateCheckpoint(0, null, "FAILED", "Interrupted");
+        } catch (RuntimeException e) {
+            log.error("Bulk rematch failed", e);
+            updateCheckpoint(0, null, "FAILED", e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private synchronized void updateCheckpoint(int processedUsers, Long lastUserId, String status, String error) {
+        checkpoint.setProcessedUsers(checkpoint.getProcessedUsers() + processedUsers);
+        if (lastUserId != null) {
+            checkpoint.setLastUserId(lastUserId);
+        }
+        checkpoint.setStatus(status);
+        checkpoint.setError(error);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        running = "RUNNING".equals(status);
+    }
+    
+    private RematchCheckpoint snapshot() {
+        RematchCheckpoint copy = new RematchCheckpoint();
+        copy.setId(checkpoint.getId());
+        copy.setStatus(checkpoint.getStatus());
+        copy.setLastUserId(checkpoint.getLastUserId());
+        copy.setTotalUsers(checkpoint.getTotalUsers());
+        copy.setProcessedUsers(checkpoint.getProcessedUsers());
+        copy.setStartedAt(checkpoint.getStartedAt());
+        copy.setUpdatedAt(checkpoint.getUpdatedAt());
+        copy.setError(checkpoint.getError());
+        return copy;
+    }
+    
+    private static class ScoredChunk {
+        private final int index;
+        private final long[] userIds;
+        private final List<List<JobScore>> scores;
+        
+        private ScoredChunk(int index, long[] userIds, List<List<JobScore>> scores) {
+            this.index = index;
+            this.userIds = userIds;
+            this.scores = scores;
+        }
+    }
+    
+    private class ScoreChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final long[] userIds;
+        private final int fromChunk;
+        private final int toChunk;
+        private final BlockingQueue<ScoredChunk> queue;
+        
+        private ScoreChunks(long[] userIds, int fromChunk, int toChunk, BlockingQueue<ScoredChunk> queue) {
+            this.userIds = userIds;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.queue = queue;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ScoreChunks(userIds, fromChunk, middle, queue),
+                    new ScoreChunks(userIds, middle, toChunk, queue));
+                return;
+            }
+            if (toChunk == fromChunk) {
+                return;
+            }
+            
+            int from = fromChunk * chunkSize;
+            int to = Math.min(from + chunkSize, userIds.length);
+            long[] chunkUserIds = Arrays.copyOfRange(userIds, from, to);
+            List<List<JobScore>> scores = new ArrayList<>(chunkUserIds.length);
+            for (long userId : chunkUserIds) {
+                scores.add(jobMatchService.scoreJobs(candidateSkillIndex.getSkillIds(userId)));
+            }
+            
+            try {
+                // Blocks while the writer is behind, bounding the scored results held in memory
+                ForkJoinPool.managedBlock(new QueuePut(queue, new ScoredChunk(fromChunk, chunkUserIds, scores)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing scored chunk", e);
+            }
+        }
+    }
+    
+    // Lets the pool know a worker is waiting on the queue rather than computing
+    private static class QueuePut implements ForkJoinPool.ManagedBlocker {
+        private final BlockingQueue<ScoredChunk> queue;
+        private final ScoredChunk chunk;
+        private boolean queued;
+        
+        private QueuePut(BlockingQueue<ScoredChunk> queue, ScoredChunk chunk) {
+            this.queue = queue;
+            this.chunk = chunk;
+        }
+        
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!queued) {
+                queue.put(chunk);
+                queued = true;
+            }
+            return true;
+        }
+        
+        @Override
+        public boolean isReleasable() {
+            if (!queued) {
+                queued = queue.offer(chunk);
+            }
+            return queued;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobmatch.service;
+
+/**
+ * Outcome of one entry of a bulk resume upload. Status is CREATED, UPDATED or UNCHANGED with
+ * the id of the user's resume, or FAILED with the reason.
+ */
+public class BulkResumeResult {
+    
+    private final int index;
+    private final String source;
+    private final Long userId;
+    private final String status;
+    private final Long resumeId;
+    private final String error;
+    
+    private BulkResumeResult(int index, String source, Long userId, String status, Long resumeId, String error) {
+        this.index = index;
+        this.source = source;
+        this.userId = userId;
+        this.status = status;
+        this.resumeId = resumeId;
+        this.error = error;
+    }
+    
+    static BulkResumeResult created(int index, String source, Long userId, Long resumeId) {
+        return new BulkResumeResult(index, source, userId, "CREATED", resumeId, null);
+    }
+    
+    static BulkResumeResult updated(int index, String source, Long userId, Long resumeId) {
+        return new BulkResumeResult(index, source, userId, "UPDATED", resumeId, null);
+    }
+    
+    static BulkResumeResult unchanged(int index, String source, Long userId, Long resumeId) {
+        return new BulkResumeResult(index, source, userId, "UNCHANGED", resumeId, null);
+    }
+    
+    static BulkResumeResult failed(int index, String source, Long userId, String error) {
+        return new BulkResumeResult(index, source, userId, "FAILED", null, error);
+    }
+    
+    public int getIndex() { return index; }
+    
+    /**
+     * Where the entry came from: its name in the archive, or its line of NDJSON.
+     */
+    public String getSource() { return source; }
+    
+    public Long getUserId() { return userId; }
+    
+    public String getStatus() { return status; }
+    
+    public Long getResumeId() { return resumeId; }
+    
+    public String getError() { return error; }
+}
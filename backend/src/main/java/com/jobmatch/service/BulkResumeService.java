@@ -0,0 +1,538 @@
+package com.jobmatch.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobmatch.model.Resume;
+import com.jobmatch.model.User;
+import com.jobmatch.repository.ResumeRepository;
+import com.jobmatch.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ingests many resumes from one upload. The request thread reads entries one by one and hands
+ * them to a parser pool shared by all uploads; between reads it saves the parsed resumes in
+ * batches, one transaction each. An upload keeps at most {@code queue-capacity} entries read but
+ * not yet saved, and when the pool's queue is full the reader parses entries itself, so memory
+ * stays bounded however large the upload and however many arrive at once. Like a single upload,
+ * an entry replaces the user's resume in place, and one identical to the resume on file is
+ * skipped. An entry that cannot be read fails on its own; the entries read before it are still
+ * saved and reported.
+ */
+@Service
+public class BulkResumeService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BulkResumeService.class);
+    
+    private static final int READ_BUFFER_SIZE = 8192;
+    
+    @Autowired
+    private ResumeService resumeService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private SkillVocabulary skillVocabulary;
+    
+    @Autowired
+    private ResumeParseCache resumeParseCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Parser threads; 0 uses one per core
+    @Value("${jobmatch.resume.bulk.threads:0}")
+    private int threads;
+    
+    @Value("${jobmatch.resume.bulk.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${jobmatch.resume.bulk.queue-capacity:200}")
+    private int queueCapacity;
+    
+    // Longer NDJSON lines fail without being held in memory; the default fits a 10 MB file in base64
+    @Value("${jobmatch.resume.bulk.max-line-length:16777216}")
+    private int maxLineLength;
+    
+    private ThreadPoolExecutor parsers;
+    
+    @PostConstruct
+    public void init() {
+        int parserThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        // A full queue has the uploading request parse the entry itself, even during shutdown,
+        // so every entry it submits comes back to it
+        parsers = new ThreadPoolExecutor(parserThreads, parserThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "bulk-resume-parser-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, executor) -> runnable.run());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        parsers.shutdown();
+    }
+    
+    /**
+     * Ingests a ZIP archive whose entries are named after the user they belong to, such as
+     * {@code 42.txt} or {@code partner/42.txt}. Directories are skipped.
+     */
+    public List<BulkResumeResult> ingestZip(InputStream archive) throws IOException {
+        Ingestion ingestion = new Ingestion();
+        try {
+            ZipInputStream zip = new ZipInputStream(archive);
+            while (true) {
+                ZipEntry entry;
+                try {
+                    entry = zip.getNextEntry();
+                } catch (IOException e) {
+                    // Nothing past a damaged spot can be read, but what came before it is kept
+                    ingestion.reject("archive", null, "Archive is unreadable: " + e.getMessage());
+                    break;
+                }
+                if (entry == null) {
+                    break;
+                }
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                
+                Long userId = userIdFromName(entry.getName());
+                if (userId == null) {
+                    ingestion.reject(entry.getName(), null, "Entry name is not a user id");
+                } else {
+                    ingestion.submit(entry.getName(), userId, new InputStreamReader(zip, StandardCharsets.UTF_8));
+                }
+            }
+            return ingestion.finish();
+        } finally {
+            ingestion.abort();
+        }
+    }
+    
+    /**
+     * Ingests one JSON object per line: {@code {"userId": 42, "text": "..."}}, or with the file's
+     * bytes base64-encoded in {@code "file"} instead of {@code "text"}.
+     */
+    public List<BulkResumeResult> ingestNdjson(InputStream lines) throws IOException {
+        Ingestion ingestion = new Ingestion();
+        try {
+            LineReader reader = new LineReader(new InputStreamReader(lines, StandardCharsets.UTF_8), maxLineLength);
+            int lineNumber = 0;
+            while (true) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException e) {
+                    ingestion.reject("line " + (lineNumber + 1), null, "Upload is unreadable: " + e.getMessage());
+                    break;
+                }
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                
+                String source = "line " + lineNumber;
+                if (reader.isTruncated()) {
+                    ingestion.reject(source, null, "Line is longer than " + maxLineLength + " characters");
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                
+                JsonNode entry;
+                try {
+                    entry = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    ingestion.reject(source, null, "Malformed JSON");
+                    continue;
+                }
+                
+                JsonNode userId = entry.get("userId");
+                if (userId == null || !userId.canConvertToLong()) {
+                    ingestion.reject(source, null, "Missing userId");
+                } else if (entry.hasNonNull("text")) {
+                    ingestion.submit(source, userId.asLong(), new StringReader(entry.get("text").asText()));
+                } else if (entry.hasNonNull("file")) {
+                    byte[] file;
+                    try {
+                        file = Base64.getDecoder().decode(entry.get("file").asText());
+                    } catch (IllegalArgumentException e) {
+                        ingestion.reject(source, userId.asLong(), "File is not base64");
+                        continue;
+                    }
+                    ingestion.submit(source, userId.asLong(), new InputStreamReader(new ByteArrayInputStream(file), StandardCharsets.UTF_8));
+                } else {
+                    ingestion.reject(source, userId.asLong(), "Missing text or file");
+                }
+            }
+            return ingestion.finish();
+        } finally {
+            ingestion.abort();
+        }
+    }
+    
+    private static Long userIdFromName(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        int extension = fileName.indexOf('.');
+        String userId = extension >= 0 ? fileName.substring(0, extension) : fileName;
+        if (userId.isEmpty() || userId.length() > 18 || !userId.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.valueOf(userId);
+    }
+    
+    private static class ParsedResume {
+        private final int index;
+        private final String source;
+        private final User user;
+        private final ResumeContent content;
+        
+        private ParsedResume(int index, String source, User user, ResumeContent content) {
+            this.index = index;
+            this.source = source;
+            this.user = user;
+            this.content = content;
+        }
+    }
+    
+    private static class SavedResume {
+        private final Resume resume;
+        private final boolean created;
+        
+        private SavedResume(Resume resume, boolean created) {
+            this.resume = resume;
+            this.created = created;
+        }
+    }
+    
+    /**
+     * Reads lines of at most {@code maxLength} characters, like {@link java.io.BufferedReader#readLine()}
+     * but skipping the rest of a longer line instead of holding it in memory.
+     */
+    private static class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean truncated;
+        
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+        
+        /**
+         * Returns the next line without its line ending, or null at the end of the input.
+         */
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            boolean started = false;
+            truncated = false;
+            while (true) {
+                if (position == limit) {
+                    int read = reader.read(buffer);
+                    if (read == -1) {
+                        return started ? withoutCarriageReturn(line) : null;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                started = true;
+                
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int kept = Math.min(position - start, maxLength - line.length());
+                truncated |= kept < position - start;
+                line.append(buffer, start, kept);
+                if (position < limit) {
+                    position++;
+                    return withoutCarriageReturn(line);
+                }
+            }
+        }
+        
+        /**
+         * Whether the line last read was cut short.
+         */
+        private boolean isTruncated() {
+            return truncated;
+        }
+        
+        private static String withoutCarriageReturn(StringBuilder line) {
+            int length = line.length();
+            return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+        }
+    }
+    
+    /**
+     * One upload's entries in flight and results. Used by the request thread only, apart from
+     * {@link #parse}, which runs on the parser pool and hands each entry back through a queue.
+     */
+    private class Ingestion {
+        
+        private final List<BulkResumeResult> results = Collections.synchronizedList(new ArrayList<>());
+        private final BlockingQueue<ParsedResume> parsed = new LinkedBlockingQueue<>();
+        private final List<ParsedResume> batch = new ArrayList<>(batchSize);
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        private int nextIndex;
+        private int inFlight;
+        private volatile boolean aborted;
+        
+        /**
+         * Reads the entry's text and queues it for parsing, after saving whatever has been parsed
+         * meanwhile. An entry that cannot be read is reported as failed.
+         */
+        private void submit(String source, Long userId, Reader resumeFile) throws IOException {
+            int index = nextIndex++;
+            String resumeText;
+            try {
+                resumeText = resumeService.readResumeText(resumeFile);
+            } catch (IOException e) {
+                results.add(BulkResumeResult.failed(index, source, userId, "Could not read resume: " + e.getMessage()));
+                return;
+            }
+            
+            // Waits for the parsers while the upload already has as many entries in flight as allowed
+            while (inFlight >= queueCapacity) {
+                collect(take());
+            }
+            inFlight++;
+            parsers.execute(() -> parse(index, source, userId, resumeText));
+            
+            ParsedResume ready;
+            while ((ready = parsed.poll()) != null) {
+                collect(ready);
+            }
+        }
+        
+        private void reject(String source, Long userId, String error) {
+            results.add(BulkResumeResult.failed(nextIndex++, source, userId, error));
+        }
+        
+        private List<BulkResumeResult> finish() throws IOException {
+            while (inFlight > 0) {
+                collect(take());
+            }
+            flush();
+            
+            List<BulkResumeResult> report = new ArrayList<>(results);
+            report.sort(Comparator.comparingInt(BulkResumeResult::getIndex));
+            return report;
+        }
+        
+        /**
+         * Stops parsing the entries still queued once the request has given up on them.
+         */
+        private void abort() {
+            aborted = true;
+        }
+        
+        private ParsedResume take() throws IOException {
+            try {
+                return parsed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while ingesting resumes", e);
+            }
+        }
+        
+        private void collect(ParsedResume parsedResume) {
+            inFlight--;
+            if (parsedResume.content == null) {
+                return;
+            }
+            batch.add(parsedResume);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                save(batch);
+            } catch (RuntimeException e) {
+                log.error("Could not save bulk resumes", e);
+                failUnreported(batch, "Could not save resume: " + e.getMessage());
+            }
+            batch.clear();
+        }
+        
+        /**
+         * Reports every entry of the batch that has no result yet as failed, so each entry of the
+         * upload still gets exactly one result.
+         */
+        private void failUnreported(List<ParsedResume> batch, String error) {
+            Set<Integer> reported = new HashSet<>();
+            synchronized (results) {
+                for (BulkResumeResult result : results) {
+                    reported.add(result.getIndex());
+                }
+            }
+            for (ParsedResume parsedResume : batch) {
+                if (!reported.contains(parsedResume.index)) {
+                    results.add(BulkResumeResult.failed(parsedResume.index, parsedResume.source,
+                        parsedResume.user.getId(), error));
+                }
+            }
+        }
+        
+        private void parse(int index, String source, Long userId, String resumeText) {
+            User owner = null;
+            ResumeContent content = null;
+            try {
+                if (aborted) {
+                    return;
+                }
+                Optional<User> user = userRepository.findById(userId);
+                if (user.isEmpty()) {
+                    results.add(BulkResumeResult.failed(index, source, userId, "User not found"));
+                    return;
+                }
+                
+                // An entry identical to the resume on file is neither parsed nor written
+                SkillExtractor extractor = skillVocabulary.getExtractor();
+                String contentHash = resumeService.contentHash(extractor, resumeText);
+                Optional<Resume> existing = resumeRepository.findFirstByUserOrderByIdDesc(user.get());
+                if (existing.isPresent() && contentHash.equals(existing.get().getContentHash())) {
+                    resumeParseCache.recordUnchanged();
+                    results.add(BulkResumeResult.unchanged(index, source, userId, existing.get().getId()));
+                    return;
+                }
+                
+                owner = user.get();
+                content = resumeService.parseContent(contentHash, extractor, resumeText);
+            } catch (RuntimeException e) {
+                log.warn("Could not parse bulk resume {}", source, e);
+                results.add(BulkResumeResult.failed(index, source, userId, e.getMessage()));
+            } finally {
+                // Every entry comes back, parsed or not, so the reader can tell when all are done
+                parsed.add(new ParsedResume(index, source, owner, content));
+            }
+        }
+        
+        private void save(List<ParsedResume> batch) {
+            List<SavedResume> savedResumes;
+            try {
+                savedResumes = transaction.execute(status -> saveBatch(batch));
+            } catch (RuntimeException e) {
+                // One bad row should not fail the rest of its batch; save them one at a time instead
+                log.warn("Bulk resume batch failed, saving its {} resumes one by one", batch.size(), e);
+                for (ParsedResume parsedResume : batch) {
+                    SavedResume savedResume;
+                    try {
+                        savedResume = transaction.execute(status -> saveOne(parsedResume));
+                    } catch (RuntimeException saveError) {
+                        results.add(BulkResumeResult.failed(parsedResume.index, parsedResume.source,
+                            parsedResume.user.getId(), saveError.getMessage()));
+                        continue;
+                    }
+                    saved(parsedResume, savedResume);
+                }
+                return;
+            }
+            
+            for (int i = 0; i < batch.size(); i++) {
+                saved(batch.get(i), savedResumes.get(i));
+            }
+        }
+        
+        /**
+         * Updates each user's resume in place, loading the batch's existing resumes in one query.
+         * A user listed twice in the batch ends up with the later entry.
+         */
+        private List<SavedResume> saveBatch(List<ParsedResume> batch) {
+            Map<Long, User> users = new HashMap<>();
+            for (ParsedResume parsedResume : batch) {
+                users.put(parsedResume.user.getId(), parsedResume.user);
+            }
+            Map<Long, Resume> resumesByUser = new HashMap<>();
+            for (Resume resume : resumeRepository.findByUserIn(users.values())) {
+                resumesByUser.merge(resume.getUser().getId(), resume,
+                    (kept, other) -> kept.getId() > other.getId() ? kept : other);
+            }
+            
+            List<SavedResume> savedResumes = new ArrayList<>(batch.size());
+            List<Resume> resumes = new ArrayList<>(batch.size());
+            for (ParsedResume parsedResume : batch) {
+                Resume resume = resumesByUser.get(parsedResume.user.getId());
+                boolean created = resume == null;
+                if (created) {
+                    resume = new Resume();
+                    resumesByUser.put(parsedResume.user.getId(), resume);
+                }
+                parsedResume.content.applyTo(resume, parsedResume.user);
+                resumes.add(resume);
+                savedResumes.add(new SavedResume(resume, created));
+            }
+            resumeRepository.saveAll(resumes);
+            return savedResumes;
+        }
+        
+        private SavedResume saveOne(ParsedResume parsedResume) {
+            Optional<Resume> existing = resumeRepository.findFirstByUserOrderByIdDesc(parsedResume.user);
+            Resume resume = existing.orElseGet(Resume::new);
+            parsedResume.content.applyTo(resume, parsedResume.user);
+            return new SavedResume(resumeRepository.save(resume), existing.isEmpty());
+        }
+        
+        private void saved(ParsedResume parsedResume, SavedResume savedResume) {
+            Resume resume = savedResume.resume;
+            resumeService.indexResume(resume);
+            results.add(savedResume.created
+                ? BulkResumeResult.created(parsedResume.index, parsedResume.source, resume.getUser().getId(), resume.getId())
+                : BulkResumeResult.updated(parsedResume.index, parsedResume.source, resume.getUser().getId(), resume.getId()));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jobmatch.service;
+
+import java.util.List;
+
+/**
+ * The best candidates for a job, best first. Truncated when the ranking budget ran out before
+ * every posting was visited, so candidates may be missing or scored lower than they should.
+ */
+public class CandidateRanking<T> {
+    
+    private final List<T> candidates;
+    private final boolean truncated;
+    
+    CandidateRanking(List<T> candidates, boolean truncated) {
+        this.candidates = candidates;
+        this.truncated = truncated;
+    }
+    
+    public List<T> getCandidates() { return candidates; }
+    
+    public boolean isTruncated() { return truncated; }
+}
@@ -0,0 +1,28 @@
+package com.jobmatch.service;
+
+import java.util.Comparator;
+
+/**
+ * Score of one candidate for one job, as ranked by the reverse matcher.
+ */
+public class CandidateScore {
+    
+    /**
+     * Best match first; ties go to the lower user id so rankings are stable.
+     */
+    public static final Comparator<CandidateScore> BEST_FIRST = Comparator
+        .comparingInt(CandidateScore::getScore).reversed()
+        .thenComparing(CandidateScore::getUserId);
+    
+    private final Long userId;
+    private final int score;
+    
+    public CandidateScore(Long userId, int score) {
+        this.userId = userId;
+        this.score = score;
+    }
+    
+    public Long getUserId() { return userId; }
+    
+    public int getScore() { return score; }
+}
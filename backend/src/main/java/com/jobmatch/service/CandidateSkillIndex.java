@@ -0,0 +1,295 @@
+package com.jobmatch.service;
+
+import com.jobmatch.event.SkillAliasesChangedEvent;
+import com.jobmatch.model.Resume;
+import com.jobmatch.model.User;
+import com.jobmatch.repository.ResumeRepository;
+import com.jobmatch.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from skill id to the candidates holding it, used to rank every
+ * candidate for a job on demand. A candidate's skills come from their resume when they have
+ * one and from their profile otherwise, the same rule JobMatchService applies.
+ */
+@Component
+public class CandidateSkillIndex {
+    
+    private static final int BUDGET_CHECK_INTERVAL = 4096;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+    private static final int[] NO_SKILLS = new int[0];
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private SkillWeights skillWeights;
+    
+    // Replaced whole on rebuild so readers never see a half-filled index
+    private volatile Tables tables = new Tables();
+    
+    @EventListener({ApplicationReadyEvent.class, SkillAliasesChangedEvent.class})
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public synchronized void rebuild() {
+        Map<Long, List<String>> skillsByUser = new HashMap<>();
+        try (Stream<Object[]> rows = userRepository.streamUserSkills()) {
+            rows.forEach(row -> skillsByUser.put((Long) row[0], (List<String>) row[1]));
+        }
+        
+        // A resume replaces the profile skills even when it lists none
+        try (Stream<Object[]> rows = resumeRepository.streamResumeSkills()) {
+            rows.forEach(row -> skillsByUser.put((Long) row[0], (List<String>) row[1]));
+        }
+        
+        Tables rebuilt = new Tables();
+        skillsByUser.forEach((userId, skills) -> addCandidate(rebuilt, userId, skills));
+        tables = rebuilt;
+    }
+    
+    @Transactional(readOnly = true)
+    public void refresh(User user) {
+        Optional<Resume> resume = resumeRepository.findFirstByUserOrderByIdDesc(user);
+        index(user.getId(), resume.isPresent() ? resume.get().getSkills() : user.getSkills());
+    }
+    
+    public synchronized void index(Long userId, Collection<String> skills) {
+        remove(userId);
+        addCandidate(tables, userId, skills);
+        compactIfSparse();
+    }
+    
+    /**
+     * Drops the candidate from the postings. Their slot is not reused until the index is compacted
+     * or rebuilt, so a ranking still holding it never credits its counts to another candidate.
+     */
+    public synchronized void remove(Long userId) {
+        Tables current = tables;
+        Integer slot = current.slotByUser.remove(userId);
+        if (slot == null) {
+            return;
+        }
+        
+        for (int skillId : current.skillIdsBySlot[slot]) {
+            current.postings.computeIfPresent(skillId, (key, slots) -> {
+                slots.remove(slot);
+                return slots.isEmpty() ? null : slots;
+            });
+        }
+        current.skillIdsBySlot[slot] = null;
+        current.deadSlots++;
+    }
+    
+    /**
+     * Moves the live candidates to fresh tables once removed and re-indexed candidates hold most
+     * of the slots. Rankings running on the old tables finish on them.
+     */
+    private void compactIfSparse() {
+        Tables current = tables;
+        if (current.deadSlots < MIN_COMPACTION_SLOTS || current.deadSlots < current.slotByUser.size()) {
+            return;
+        }
+        
+        Tables compacted = new Tables();
+        current.slotByUser.forEach((userId, slot) -> addSlot(compacted, userId, current.skillIdsBySlot[slot]));
+        tables = compacted;
+    }
+    
+    /**
+     * Returns the candidate's skills as sorted, distinct ids, or an empty array when they have none.
+     */
+    public int[] getSkillIds(Long userId) {
+        Tables current = tables;
+        Integer slot = current.slotByUser.get(userId);
+        int[] skillIds = slot != null ? current.skillIdsBySlot[slot] : null;
+        return skillIds != null ? skillIds : NO_SKILLS;
+    }
+    
+    /**
+     * Ranks the candidates sharing a skill with the job, scored like JobMatchService scores jobs
+     * for a candidate, and returns the best {@code limit}.
+     * Stops visiting postings once the budget is spent and ranks what was counted so far, marking
+     * the ranking as truncated.
+     */
+    public CandidateRanking<CandidateScore> rankCandidates(int[] jobSkillIds, int limit, long budgetNanos) {
+        if (jobSkillIds.length == 0 || limit <= 0) {
+            return new CandidateRanking<>(List.of(), false);
+        }
+        
+        SkillWeights.Snapshot weights = skillWeights.current();
+        double total = weights.total(jobSkillIds);
+        MatchCounts counts = countMatches(jobSkillIds, weights, budgetNanos);
+        PriorityQueue<CandidateScore> best = new PriorityQueue<>(Math.min(limit, counts.touchedCount) + 1,
+            CandidateScore.BEST_FIRST.reversed());
+        for (int i = 0; i < counts.touchedCount; i++) {
+            int slot = counts.touchedSlots[i];
+            if (counts.isRemoved(slot)) {
+                continue;
+            }
+            int score = counts.score(slot, total);
+            if (best.size() == limit && score < best.peek().getScore()) {
+                continue;
+            }
+            
+            best.add(new CandidateScore(counts.users[slot], score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        
+        List<CandidateScore> ranking = new ArrayList<>(best);
+        ranking.sort(CandidateScore.BEST_FIRST);
+        return new CandidateRanking<>(ranking, counts.truncated);
+    }
+    
+    /**
+     * Scores every candidate sharing a skill with the job, in no particular order.
+     */
+    public List<CandidateScore> scoreCandidates(int[] jobSkillIds) {
+        if (jobSkillIds.length == 0) {
+            return List.of();
+        }
+        
+        SkillWeights.Snapshot weights = skillWeights.current();
+        double total = weights.total(jobSkillIds);
+        MatchCounts counts = countMatches(jobSkillIds, weights, Long.MAX_VALUE);
+        List<CandidateScore> scores = new ArrayList<>(counts.touchedCount);
+        for (int i = 0; i < counts.touchedCount; i++) {
+            int slot = counts.touchedSlots[i];
+            if (!counts.isRemoved(slot)) {
+                scores.add(new CandidateScore(counts.users[slot], counts.score(slot, total)));
+            }
+        }
+        return scores;
+    }
+    
+    private MatchCounts countMatches(int[] jobSkillIds, SkillWeights.Snapshot weights, long budgetNanos) {
+        long start = System.nanoTime();
+        Tables current = tables;
+        MatchCounts counts = new MatchCounts(current);
+        int visited = 0;
+        
+        for (int i = 0; i < jobSkillIds.length; ) {
+            // Job skills are sorted with duplicates; each copy adds the skill's weight to the score
+            int skillId = jobSkillIds[i];
+            int copies = 1;
+            while (i + copies < jobSkillIds.length && jobSkillIds[i + copies] == skillId) {
+                copies++;
+            }
+            i += copies;
+            
+            Set<Integer> slots = current.postings.get(skillId);
+            if (slots == null) {
+                continue;
+            }
+            
+            double weight = copies * weights.weight(skillId);
+            for (int slot : slots) {
+                counts.add(slot, weight);
+                if (++visited % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() - start > budgetNanos) {
+                    counts.truncated = true;
+                    return counts;
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private void addCandidate(Tables target, Long userId, Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return;
+        }
+        
+        addSlot(target, userId, skillDictionary.internDistinct(skills));
+    }
+    
+    private void addSlot(Tables target, Long userId, int[] skillIds) {
+        int slot = target.slotCount++;
+        if (slot >= target.userBySlot.length) {
+            int capacity = target.userBySlot.length * 2;
+            target.skillIdsBySlot = Arrays.copyOf(target.skillIdsBySlot, capacity);
+            target.userBySlot = Arrays.copyOf(target.userBySlot, capacity);
+        }
+        
+        target.userBySlot[slot] = userId;
+        target.skillIdsBySlot[slot] = skillIds;
+        target.slotByUser.put(userId, slot);
+        for (int skillId : skillIds) {
+            target.postings.computeIfAbsent(skillId, key -> ConcurrentHashMap.newKeySet()).add(slot);
+        }
+    }
+    
+    private static class Tables {
+        // Candidates get dense slots so ranking can accumulate counts in a plain int[]
+        private final Map<Long, Integer> slotByUser = new ConcurrentHashMap<>();
+        private volatile long[] userBySlot = new long[1024];
+        private volatile int[][] skillIdsBySlot = new int[1024][];
+        private int slotCount;
+        // Slots of removed candidates, left empty until the tables are compacted
+        private int deadSlots;
+        
+        private final Map<Integer, Set<Integer>> postings = new ConcurrentHashMap<>();
+    }
+    
+    private static class MatchCounts {
+        private final Tables tables;
+        private final long[] users;
+        private final double[] matched;
+        private int[] touchedSlots = new int[64];
+        private int touchedCount;
+        private boolean truncated;
+        
+        private MatchCounts(Tables tables) {
+            this.tables = tables;
+            this.users = tables.userBySlot;
+            this.matched = new double[users.length];
+        }
+        
+        private void add(int slot, double weight) {
+            // Slots added after the snapshot was taken are skipped
+            if (slot >= matched.length) {
+                return;
+            }
+            if (matched[slot] == 0) {
+                if (touchedCount == touchedSlots.length) {
+                    touchedSlots = Arrays.copyOf(touchedSlots, touchedCount * 2);
+                }
+                touchedSlots[touchedCount++] = slot;
+            }
+            matched[slot] += weight;
+        }
+        
+        /**
+         * Tells whether the candidate was removed or re-indexed into another slot while counting.
+         */
+        private boolean isRemoved(int slot) {
+            return tables.skillIdsBySlot[slot] == null;
+        }
+        
+        private int score(int slot, double total) {
+            return SkillWeights.Snapshot.percentage(matched[slot], total);
+        }
+    }
+}
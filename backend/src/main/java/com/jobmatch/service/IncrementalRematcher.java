@@ -0,0 +1,85 @@
+package com.jobmatch.service;
+
+import com.jobmatch.event.CandidateChangedEvent;
+import com.jobmatch.event.JobChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps match scores fresh in the background. Change events only mark a job or candidate as
+ * pending, so a burst of edits to the same record collapses into one recomputation, and the
+ * pending records are rescored in batches on a fixed delay.
+ */
+@Component
+public class IncrementalRematcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(IncrementalRematcher.class);
+    
+    @Autowired
+    private JobMatchService jobMatchService;
+    
+    @Value("${jobmatch.rematch.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${jobmatch.rematch.batch-size:100}")
+    private int batchSize;
+    
+    private final Set<Long> pendingJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingUsers = ConcurrentHashMap.newKeySet();
+    
+    @EventListener
+    public void onJobChanged(JobChangedEvent event) {
+        // Matches of a deleted job are removed together with the job
+        if (enabled && !event.isDeleted()) {
+            pendingJobs.add(event.getJobId());
+        }
+    }
+    
+    @EventListener
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        if (enabled) {
+            pendingUsers.add(event.getUserId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${jobmatch.rematch.interval-ms:5000}")
+    public void processPending() {
+        // A rescored candidate picks up every job change too, so candidates go first
+        for (Long userId : drain(pendingUsers)) {
+            try {
+                jobMatchService.calculateMatchesForUser(userId);
+            } catch (RuntimeException e) {
+                log.warn("Rematching user {} failed", userId, e);
+            }
+        }
+        
+        for (Long jobId : drain(pendingJobs)) {
+            try {
+                jobMatchService.recalculateMatchesForJob(jobId);
+            } catch (RuntimeException e) {
+                log.warn("Rematching job {} failed", jobId, e);
+            }
+        }
+    }
+    
+    private List<Long> drain(Set<Long> pending) {
+        List<Long> batch = new ArrayList<>(batchSize);
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+}
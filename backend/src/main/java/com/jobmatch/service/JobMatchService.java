@@ -10,16 +10,34 @@ import com.jobmatch.repository.JobRepository;
 import com.jobmatch.repository.ResumeRepository;
 import com.jobmatch.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 
 @Service
 public class JobMatchService {
     
+    private static final int SCORING_BLOCK_SIZE = 256;
+    private static final int STREAM_PAGE_SIZE = 100;
+    
     @Autowired
     private JobMatchRepository jobMatchRepository;
     
@@ -32,75 +50,598 @@ public class JobMatchService {
     @Autowired
     private ResumeRepository resumeRepository;
     
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+    
+    @Autowired
+    private MinHashLshIndex minHashLshIndex;
+    
+    @Autowired
+    private SkillWeights skillWeights;
+    
+    @Autowired
+    private MatchScoreCache matchScoreCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MatchDistributionIndex matchDistributionIndex;
+    
+    // 0 keeps a row for every job sharing a skill; otherwise only the K best matches are kept
+    @Value("${jobmatch.matching.top-k:0}")
+    private int topK;
+    
+    // Lowest score a match needs to be kept in top-K mode
+    @Value("${jobmatch.matching.min-score:1}")
+    private int minScore;
+    
+    // Time allowed for ranking the candidate pool of one job
+    @Value("${jobmatch.matching.candidate-budget-ms:200}")
+    private long candidateBudgetMillis;
+    
+    private final MatchKernel matchKernel = new ScalarMatchKernel();
+    
     public List<JobMatch> getMatchesForUser(Long userId) {
         Optional<User> user = userRepository.findById(userId);
+        if (topK > 0) {
+            return user.map(u -> jobMatchRepository.findByUserOrderByMatchScoreDesc(u, PageRequest.of(0, topK)))
+                .orElse(java.util.Collections.emptyList());
+        }
         return user.map(jobMatchRepository::findByUser).orElse(java.util.Collections.emptyList());
     }
     
+    public MatchDistribution getScoreDistribution(Long jobId) {
+        return matchDistributionIndex.getDistribution(jobId);
+    }
+    
     public List<JobMatch> getMatchesForJob(Long jobId) {
         Optional<Job> job = jobRepository.findById(jobId);
         return job.map(jobMatchRepository::findByJob).orElse(java.util.Collections.emptyList());
     }
     
+    /**
+     * Ranks every candidate for the job from the candidate index, without waiting for candidates
+     * to calculate their own matches. The returned matches are not persisted, and are marked
+     * truncated when the candidate budget ran out.
+     */
+    public CandidateRanking<JobMatch> rankCandidatesForJob(Long jobId, int limit) {
+        Optional<Job> job = jobRepository.findById(jobId);
+        if (job.isEmpty()) {
+            return new CandidateRanking<>(java.util.Collections.emptyList(), false);
+        }
+        
+        CandidateRanking<CandidateScore> candidateRanking = candidateSkillIndex.rankCandidates(
+            jobSkillIndex.getSkillIds(jobId), limit, TimeUnit.MILLISECONDS.toNanos(candidateBudgetMillis));
+        List<CandidateScore> ranking = candidateRanking.getCandidates();
+        
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(ranking.stream().map(CandidateScore::getUserId).collect(Collectors.toList()))) {
+            users.put(user.getId(), user);
+        }
+        
+        List<JobMatch> matches = new ArrayList<>(ranking.size());
+        for (CandidateScore candidate : ranking) {
+            User user = users.get(candidate.getUserId());
+            if (user != null) {
+                JobMatch match = new JobMatch();
+                match.setUser(user);
+                match.setJob(job.get());
+                match.setMatchScore(candidate.getScore());
+                matches.add(match);
+            }
+        }
+        return new CandidateRanking<>(matches, candidateRanking.isTruncated());
+    }
+    
+    /**
+     * Scores and saves the user's matches. Only jobs sharing a skill with the user are scored, so
+     * jobs scoring 0% get no match and are not returned.
+     */
+    @Transactional
     public List<JobMatch> calculateMatchesForUser(Long userId) {
         User user = userRepository.findById(userId).orElseThrow();
-        List<Job> allJobs = jobRepository.findAll();
-        Optional<Resume> resume = resumeRepository.findByUser(user);
+        List<JobScore> scores = scoreJobs(skillDictionary.encodeDistinct(resolveSkills(user)));
+        return saveMatches(user, scores);
+    }
+    
+    /**
+     * Resolves the user's skills to dictionary ids for {@link #streamMatches}, failing for an
+     * unknown user before anything is streamed.
+     */
+    @Transactional(readOnly = true)
+    public int[] encodeSkillsForUser(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        return skillDictionary.encodeDistinct(resolveSkills(user));
+    }
+    
+    /**
+     * Scores, persists and hands the user's matches to the consumer a page at a time, each page
+     * once its transaction has committed, so only one page of matches and jobs is held in memory.
+     * Without top-K, pages are filled straight from the scorer in no particular order and the
+     * match cache is bypassed, so the first page is written before the remaining jobs are scored.
+     * In top-K mode the K best are only known once every job is scored, so the K scores are
+     * computed (or taken from the cache) first and paged best first. The ids of all scored jobs
+     * are kept to prune or reset the user's other matches afterwards, like saveMatches does.
+     * Pages the consumer no longer takes after failing are still persisted before its exception
+     * is rethrown.
+     */
+    public void streamMatches(Long userId, int[] userSkillIds, Consumer<List<JobMatch>> consumer) {
+        User user = userRepository.findById(userId).orElseThrow();
+        MatchPageWriter writer = new MatchPageWriter(user, consumer);
+        
+        if (topK > 0) {
+            scoreJobs(userSkillIds).forEach(writer::add);
+        } else {
+            scoreCandidates(userSkillIds, findCandidateJobs(userSkillIds),
+                (jobId, matchScore) -> writer.add(new JobScore(jobId, matchScore)));
+        }
+        writer.finish();
+    }
+    
+    /**
+     * Collects scores into pages for {@link #streamMatches}, writing each full page in its own
+     * transaction before passing it on.
+     */
+    private class MatchPageWriter {
+        
+        private final User user;
+        private final Consumer<List<JobMatch>> consumer;
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        private final Set<Long> scoredJobIds = new HashSet<>();
+        private List<JobScore> page = new ArrayList<>(STREAM_PAGE_SIZE);
+        private RuntimeException consumerFailure;
+        
+        MatchPageWriter(User user, Consumer<List<JobMatch>> consumer) {
+            this.user = user;
+            this.consumer = consumer;
+        }
+        
+        void add(JobScore score) {
+            page.add(score);
+            if (page.size() == STREAM_PAGE_SIZE) {
+                writePage();
+            }
+        }
+        
+        void finish() {
+            if (!page.isEmpty()) {
+                writePage();
+            }
+            transaction.executeWithoutResult(status -> removeUnscoredMatches(user, scoredJobIds));
+            if (consumerFailure != null) {
+                throw consumerFailure;
+            }
+        }
         
-        List<String> userSkills = new ArrayList<>();
+        private void writePage() {
+            List<JobScore> scores = page;
+            page = new ArrayList<>(STREAM_PAGE_SIZE);
+            List<JobMatch> matches = transaction.execute(status -> {
+                Map<Long, JobMatch> existingMatches = new HashMap<>();
+                for (JobMatch match : jobMatchRepository.findByUserAndJobIdIn(user,
+                        scores.stream().map(JobScore::getJobId).collect(Collectors.toList()))) {
+                    existingMatches.put(match.getJob().getId(), match);
+                }
+                return writeScores(user, scores, existingMatches);
+            });
+            scores.forEach(score -> scoredJobIds.add(score.getJobId()));
+            
+            if (consumerFailure == null) {
+                try {
+                    consumer.accept(matches);
+                } catch (RuntimeException e) {
+                    consumerFailure = e;
+                }
+            }
+        }
+    }
+    
+    private List<String> resolveSkills(User user) {
+        // A resume replaces the profile skills
+        Optional<Resume> resume = resumeRepository.findFirstByUserOrderByIdDesc(user);
         if (resume.isPresent()) {
-            userSkills = resume.get().getSkills();
-        } else if (user.getSkills() != null) {
-            userSkills = user.getSkills();
+            return resume.get().getSkills();
+        }
+        return user.getSkills() != null ? user.getSkills() : new ArrayList<>();
+    }
+    
+    /**
+     * Rescores only the pairs affected by a change to one job: candidates now sharing a skill
+     * with it and candidates that already have a match for it. In top-K mode only this job's
+     * match is touched, see {@link #updateTopKMatches}. Candidates who have no matches yet are
+     * left out; they get this job with their first calculation.
+     */
+    @Transactional
+    public void recalculateMatchesForJob(Long jobId) {
+        Optional<Job> job = jobRepository.findById(jobId);
+        if (job.isEmpty()) {
+            return;
+        }
+        
+        List<CandidateScore> scores = candidateSkillIndex.scoreCandidates(jobSkillIndex.getSkillIds(jobId));
+        List<JobMatch> existingMatches = jobMatchRepository.findByJob(job.get());
+        
+        if (topK > 0) {
+            updateTopKMatches(job.get(), scores, existingMatches);
+            return;
+        }
+        
+        Map<Long, Integer> newScores = new HashMap<>();
+        for (CandidateScore score : scores) {
+            newScores.put(score.getUserId(), score.getScore());
+        }
+        
+        for (JobMatch match : existingMatches) {
+            // Candidates no longer sharing a skill drop to 0, as a full scan would score them
+            Integer matchScore = newScores.remove(match.getUser().getId());
+            int updatedScore = matchScore != null ? matchScore : 0;
+            if (match.getMatchScore() == null || match.getMatchScore() != updatedScore) {
+                match.setMatchScore(updatedScore);
+            }
+        }
+        if (newScores.isEmpty()) {
+            return;
+        }
+        newScores.keySet().retainAll(jobMatchRepository.findUserIdsWithMatches(newScores.keySet()));
+        
+        List<JobMatch> createdMatches = new ArrayList<>(newScores.size());
+        newScores.forEach((userId, matchScore) -> {
+            JobMatch jobMatch = new JobMatch();
+            jobMatch.setUser(userRepository.getReferenceById(userId));
+            jobMatch.setJob(job.get());
+            jobMatch.setMatchScore(matchScore);
+            createdMatches.add(jobMatch);
+        });
+        jobMatchRepository.saveAll(createdMatches);
+    }
+    
+    /**
+     * Applies one job's new scores to the candidates' top K without rescoring them. A candidate
+     * holding a match for the job gets the new score, or loses the match once it falls below the
+     * threshold. Any other candidate gains a match only when the job beats their K-th score, and
+     * it then replaces their lowest match. A match that drops out leaves a gap in that
+     * candidate's top K until their next full calculation.
+     */
+    private void updateTopKMatches(Job job, List<CandidateScore> scores, List<JobMatch> existingMatches) {
+        Map<Long, Integer> newScores = new HashMap<>();
+        for (CandidateScore score : scores) {
+            if (score.getScore() >= minScore) {
+                newScores.put(score.getUserId(), score.getScore());
+            }
+        }
+        
+        List<JobMatch> droppedMatches = new ArrayList<>();
+        for (JobMatch match : existingMatches) {
+            Integer matchScore = newScores.remove(match.getUser().getId());
+            if (matchScore == null) {
+                droppedMatches.add(match);
+            } else if (!matchScore.equals(match.getMatchScore())) {
+                match.setMatchScore(matchScore);
+            }
         }
+        jobMatchRepository.deleteAll(droppedMatches);
         
-        List<JobMatch> matches = new ArrayList<>();
+        if (newScores.isEmpty()) {
+            return;
+        }
+        
+        // Match count and lowest score of each candidate's stored top K; candidates without matches are absent
+        Map<Long, Object[]> storedMatches = new HashMap<>();
+        for (Object[] row : jobMatchRepository.countAndMinScoreByUserIdIn(newScores.keySet())) {
+            storedMatches.put((Long) row[0], row);
+        }
         
-        for (Job job : allJobs) {
-            int matchScore = calculateMatchScore(userSkills, job.getSkills());
+        List<JobMatch> createdMatches = new ArrayList<>();
+        List<Long> evictingUserIds = new ArrayList<>();
+        newScores.forEach((userId, matchScore) -> {
+            Object[] stored = storedMatches.get(userId);
+            if (stored == null) {
+                // Never calculated, so there is no top K to enter yet
+                return;
+            }
+            if ((Long) stored[1] >= topK) {
+                Integer lowestScore = (Integer) stored[2];
+                if (lowestScore != null && matchScore <= lowestScore) {
+                    return;
+                }
+                evictingUserIds.add(userId);
+            }
             
-            // Check if a match already exists
-            Optional<JobMatch> existingMatch = jobMatchRepository.findByUser(user).stream()
-                .filter(match -> match.getJob().getId().equals(job.getId()))
-                .findFirst();
+            JobMatch jobMatch = new JobMatch();
+            jobMatch.setUser(userRepository.getReferenceById(userId));
+            jobMatch.setJob(job);
+            jobMatch.setMatchScore(matchScore);
+            createdMatches.add(jobMatch);
+        });
+        evictLowestMatches(evictingUserIds);
+        jobMatchRepository.saveAll(createdMatches);
+    }
+    
+    /**
+     * Deletes the lowest-scoring match of each given candidate, one match per candidate when
+     * several tie, with one query to find them and one statement to delete them.
+     */
+    private void evictLowestMatches(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<Long> evictedUsers = new HashSet<>();
+        List<Long> evictedIds = new ArrayList<>(userIds.size());
+        for (Object[] row : jobMatchRepository.findLowestScoresByUserIdIn(userIds)) {
+            if (evictedUsers.add((Long) row[1])) {
+                evictedIds.add((Long) row[0]);
+                // The batch delete skips entity callbacks, so the distribution is told directly
+                matchDistributionIndex.record((Long) row[0], (Long) row[2], (Integer) row[3], null);
+            }
+        }
+        jobMatchRepository.deleteAllByIdInBatch(evictedIds);
+    }
+    
+    /**
+     * Returns the user's job scores, served from the match cache when a user with the same skills
+     * was scored against the current catalog.
+     */
+    public List<JobScore> scoreJobs(int[] userSkillIds) {
+        // Read the version first so scores computed during a catalog change are cached as stale
+        long catalogVersion = jobSkillIndex.getVersion();
+        return matchScoreCache.get(userSkillIds, catalogVersion, () -> computeScores(userSkillIds));
+    }
+    
+    /**
+     * Scores every job sharing a skill with the user. Jobs sharing none always score 0, so only
+     * candidates from the index are visited, or from the LSH index when approximate retrieval is
+     * on. In top-K mode a bounded min-heap keeps the K best scores at or above the threshold and
+     * the result is ordered best first.
+     */
+    private List<JobScore> computeScores(int[] userSkillIds) {
+        Set<Long> candidateJobIds = findCandidateJobs(userSkillIds);
+        
+        if (topK <= 0) {
+            List<JobScore> scores = new ArrayList<>(candidateJobIds.size());
+            scoreCandidates(userSkillIds, candidateJobIds, (jobId, matchScore) -> scores.add(new JobScore(jobId, matchScore)));
+            return scores;
+        }
+        
+        PriorityQueue<JobScore> best = new PriorityQueue<>(topK + 1, JobScore.BEST_FIRST.reversed());
+        scoreCandidates(userSkillIds, candidateJobIds, (jobId, matchScore) -> {
+            if (matchScore < minScore) {
+                return;
+            }
             
-            JobMatch jobMatch;
-            if (existingMatch.isPresent()) {
-                jobMatch = existingMatch.get();
-                jobMatch.setMatchScore(matchScore);
-            } else {
-                jobMatch = new JobMatch();
-                jobMatch.setUser(user);
-                jobMatch.setJob(job);
-                jobMatch.setMatchScore(matchScore);
+            best.add(new JobScore(jobId, matchScore));
+            if (best.size() > topK) {
+                best.poll();
+            }
+        });
+        
+        List<JobScore> scores = new ArrayList<>(best);
+        scores.sort(JobScore.BEST_FIRST);
+        return scores;
+    }
+    
+    private Set<Long> findCandidateJobs(int[] userSkillIds) {
+        // LSH retrieval trades some recall for not visiting postings of ubiquitous skills
+        return minHashLshIndex.isEnabled()
+            ? minHashLshIndex.findCandidateJobs(userSkillIds)
+            : jobSkillIndex.findCandidateJobs(userSkillIds);
+    }
+    
+    /**
+     * Passes each candidate job's score to the sink. Jobs are scored in blocks by the match
+     * kernel against the user's skills laid out as a bitset, or one by one against the current
+     * skill weights in idf mode.
+     */
+    private void scoreCandidates(int[] userSkillIds, Collection<Long> candidateJobIds, ObjIntConsumer<Long> sink) {
+        long[] userBits = MatchKernel.toBitset(userSkillIds, skillDictionary.size());
+        int bitCount = userBits.length << 6;
+        
+        if (skillWeights.isIdf()) {
+            SkillWeights.Snapshot weights = skillWeights.current();
+            for (Long jobId : candidateJobIds) {
+                int[] jobSkillIds = jobSkillIndex.getSkillIds(jobId);
+                if (jobSkillIds.length > 0) {
+                    sink.accept(jobId, weights.score(userBits, jobSkillIds));
+                }
+            }
+            return;
+        }
+        
+        Long[] blockJobIds = new Long[SCORING_BLOCK_SIZE];
+        int[] blockSkillIds = new int[SCORING_BLOCK_SIZE * 16];
+        int[] offsets = new int[SCORING_BLOCK_SIZE + 1];
+        int[] counts = new int[SCORING_BLOCK_SIZE];
+        int blockSize = 0;
+        
+        for (Long jobId : candidateJobIds) {
+            int[] jobSkillIds = jobSkillIndex.getSkillIds(jobId);
+            if (jobSkillIds.length == 0) {
+                // Removed from the index while scoring
+                continue;
+            }
+            if (jobSkillIds[jobSkillIds.length - 1] >= bitCount) {
+                // Lists a skill interned after the bitset was sized; the merge gives the same score
+                sink.accept(jobId, calculateMatchScore(userSkillIds, jobSkillIds));
+                continue;
             }
             
-            matches.add(jobMatchRepository.save(jobMatch));
+            int offset = offsets[blockSize];
+            if (offset + jobSkillIds.length > blockSkillIds.length) {
+                blockSkillIds = Arrays.copyOf(blockSkillIds, Math.max(blockSkillIds.length * 2, offset + jobSkillIds.length));
+            }
+            System.arraycopy(jobSkillIds, 0, blockSkillIds, offset, jobSkillIds.length);
+            blockJobIds[blockSize++] = jobId;
+            offsets[blockSize] = offset + jobSkillIds.length;
+            
+            if (blockSize == SCORING_BLOCK_SIZE) {
+                scoreBlock(userBits, blockJobIds, blockSkillIds, offsets, blockSize, counts, sink);
+                blockSize = 0;
+            }
+        }
+        
+        if (blockSize > 0) {
+            scoreBlock(userBits, blockJobIds, blockSkillIds, offsets, blockSize, counts, sink);
+        }
+    }
+    
+    private void scoreBlock(long[] userBits, Long[] jobIds, int[] skillIds, int[] offsets, int jobCount,
+                            int[] counts, ObjIntConsumer<Long> sink) {
+        matchKernel.countMatches(userBits, skillIds, offsets, jobCount, counts);
+        for (int i = 0; i < jobCount; i++) {
+            sink.accept(jobIds[i], percentage(counts[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+    
+    /**
+     * Writes the scores as the user's matches and returns them in score order. Unchanged rows are
+     * left alone. Rows for jobs missing from the scores are pruned in top-K mode and reset to 0 otherwise,
+     * except under LSH retrieval, which may have missed jobs that still share a skill.
+     */
+    @Transactional
+    public List<JobMatch> saveMatches(User user, List<JobScore> scores) {
+        // Load the user's existing matches once, keyed by job
+        Map<Long, JobMatch> existingMatches = new HashMap<>();
+        for (JobMatch match : jobMatchRepository.findByUser(user)) {
+            existingMatches.put(match.getJob().getId(), match);
+        }
+        
+        List<JobMatch> matches = writeScores(user, scores, existingMatches);
+        
+        if (topK > 0) {
+            // The batch delete skips entity callbacks, so the distribution is told directly
+            List<Long> leftoverIds = new ArrayList<>(existingMatches.size());
+            for (JobMatch leftover : existingMatches.values()) {
+                matchDistributionIndex.record(leftover.getId(), leftover.getJob().getId(), leftover.getPersistedScore(), null);
+                leftoverIds.add(leftover.getId());
+            }
+            jobMatchRepository.deleteAllByIdInBatch(leftoverIds);
+            return matches;
         }
         
+        // Existing matches for jobs that no longer share a skill drop to 0, as a full scan would score them.
+        // A job LSH did not retrieve may still share one, so its exact stored score is kept instead.
+        boolean exactRetrieval = !minHashLshIndex.isEnabled();
+        for (JobMatch existingMatch : existingMatches.values()) {
+            if (exactRetrieval && (existingMatch.getMatchScore() == null || existingMatch.getMatchScore() != 0)) {
+                existingMatch.setMatchScore(0);
+            }
+            matches.add(existingMatch);
+        }
         return matches;
     }
     
-    private int calculateMatchScore(List<String> userSkills, List<String> jobSkills) {
-        if (userSkills == null || jobSkills == null || userSkills.isEmpty() || jobSkills.isEmpty()) {
-            return 0;
+    /**
+     * Updates the given existing matches to the scores and creates the missing ones, returning them
+     * in score order. Matches that were scored are taken out of the map, leaving the unscored ones.
+     * Jobs deleted since scoring are skipped.
+     */
+    private List<JobMatch> writeScores(User user, List<JobScore> scores, Map<Long, JobMatch> existingMatches) {
+        Map<Long, JobMatch> scoredMatches = new HashMap<>();
+        Map<Long, Integer> newScores = new HashMap<>();
+        
+        for (JobScore score : scores) {
+            JobMatch existingMatch = existingMatches.remove(score.getJobId());
+            if (existingMatch == null) {
+                newScores.put(score.getJobId(), score.getScore());
+                continue;
+            }
+            
+            if (existingMatch.getMatchScore() == null || existingMatch.getMatchScore() != score.getScore()) {
+                // Managed entity, written by the batched flush at commit
+                existingMatch.setMatchScore(score.getScore());
+            }
+            scoredMatches.put(score.getJobId(), existingMatch);
         }
         
-        // Convert skills to lowercase for case-insensitive comparison
-        List<String> userSkillsLower = userSkills.stream()
-            .map(String::toLowerCase)
-            .collect(Collectors.toList());
+        List<JobMatch> createdMatches = new ArrayList<>();
+        for (Job job : jobRepository.findAllById(newScores.keySet())) {
+            JobMatch jobMatch = new JobMatch();
+            jobMatch.setUser(user);
+            jobMatch.setJob(job);
+            jobMatch.setMatchScore(newScores.get(job.getId()));
+            createdMatches.add(jobMatch);
+        }
+        for (JobMatch createdMatch : jobMatchRepository.saveAll(createdMatches)) {
+            scoredMatches.put(createdMatch.getJob().getId(), createdMatch);
+        }
         
-        List<String> jobSkillsLower = jobSkills.stream()
-            .map(String::toLowerCase)
-            .collect(Collectors.toList());
+        List<JobMatch> matches = new ArrayList<>(scores.size() + existingMatches.size());
+        for (JobScore score : scores) {
+            JobMatch match = scoredMatches.get(score.getJobId());
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Applies saveMatches' rule for unscored rows to the user's matches for jobs outside the
+     * given ids, reading only their ids and scores until a row has to change.
+     */
+    private void removeUnscoredMatches(User user, Set<Long> scoredJobIds) {
+        boolean exactRetrieval = !minHashLshIndex.isEnabled();
+        List<Long> leftoverIds = new ArrayList<>();
+        for (Object[] row : jobMatchRepository.findScoresByUser(user)) {
+            Long jobId = (Long) row[1];
+            Integer matchScore = (Integer) row[2];
+            if (scoredJobIds.contains(jobId)) {
+                continue;
+            }
+            
+            if (topK > 0) {
+                // The batch delete skips entity callbacks, so the distribution is told directly
+                matchDistributionIndex.record((Long) row[0], jobId, matchScore, null);
+                leftoverIds.add((Long) row[0]);
+            } else if (exactRetrieval && (matchScore == null || matchScore != 0)) {
+                leftoverIds.add((Long) row[0]);
+            }
+        }
         
-        // Count matching skills
-        long matchingSkills = jobSkillsLower.stream()
-            .filter(userSkillsLower::contains)
-            .count();
+        if (leftoverIds.isEmpty()) {
+            return;
+        }
+        if (topK > 0) {
+            jobMatchRepository.deleteAllByIdInBatch(leftoverIds);
+            return;
+        }
+        for (JobMatch leftover : jobMatchRepository.findAllById(leftoverIds)) {
+            leftover.setMatchScore(0);
+        }
+    }
+    
+    /**
+     * Percentage of the job's listed skills the user has. Both arrays are sorted skill ids;
+     * the user's are distinct while the job's keep duplicates, so a single merge pass
+     * counts the same matches as checking each job skill against the user's list.
+     */
+    static int calculateMatchScore(int[] userSkillIds, int[] jobSkillIds) {
+        if (userSkillIds.length == 0 || jobSkillIds.length == 0) {
+            return 0;
+        }
         
+        int matchingSkills = 0;
+        int u = 0;
+        for (int j = 0; j < jobSkillIds.length && u < userSkillIds.length; j++) {
+            while (u < userSkillIds.length && userSkillIds[u] < jobSkillIds[j]) {
+                u++;
+            }
+            if (u < userSkillIds.length && userSkillIds[u] == jobSkillIds[j]) {
+                matchingSkills++;
+            }
+        }
+        
+        return percentage(matchingSkills, jobSkillIds.length);
+    }
+    
+    private static int percentage(int matchingSkills, int jobSkillCount) {
         // Calculate percentage match
-        return (int) Math.round((double) matchingSkills / jobSkillsLower.size() * 100);
+        return (int) Math.round((double) matchingSkills / jobSkillCount * 100);
     }
 }
@@ -0,0 +1,28 @@
+package com.jobmatch.service;
+
+import java.util.Comparator;
+
+/**
+ * Score of one job for one candidate, computed before anything is persisted.
+ */
+public class JobScore {
+    
+    /**
+     * Best match first; ties go to the older (lower id) job so rankings are stable.
+     */
+    public static final Comparator<JobScore> BEST_FIRST = Comparator
+        .comparingInt(JobScore::getScore).reversed()
+        .thenComparing(JobScore::getJobId);
+    
+    private final Long jobId;
+    private final int score;
+    
+    public JobScore(Long jobId, int score) {
+        this.jobId = jobId;
+        this.score = score;
+    }
+    
+    public Long getJobId() { return jobId; }
+    
+    public int getScore() { return score; }
+}
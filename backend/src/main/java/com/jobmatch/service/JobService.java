@@ -1,11 +1,16 @@
 
 package com.jobmatch.service;
 
+import com.jobmatch.event.JobChangedEvent;
 import com.jobmatch.model.Job;
+import com.jobmatch.repository.JobMatchRepository;
 import com.jobmatch.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +20,21 @@ public class JobService {
     @Autowired
     private JobRepository jobRepository;
     
+    @Autowired
+    private JobMatchRepository jobMatchRepository;
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private MatchDistributionIndex matchDistributionIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<Job> getAllJobs() {
         return jobRepository.findAll();
     }
@@ -27,12 +47,23 @@ public class JobService {
         return jobRepository.findByCompany(company);
     }
     
+    /**
+     * Finds the jobs listing the skill or any of its aliases, through the skill index
+     * rather than a scan of the jobs' skills columns.
+     */
     public List<Job> getJobsBySkill(String skill) {
-        return jobRepository.findBySkillsContaining(skill);
+        int skillId = skillDictionary.lookup(skill);
+        if (skillId == SkillDictionary.UNKNOWN) {
+            return Collections.emptyList();
+        }
+        return jobRepository.findAllById(jobSkillIndex.findCandidateJobs(new int[] {skillId}));
     }
     
     public Job createJob(Job job) {
-        return jobRepository.save(job);
+        Job savedJob = jobRepository.save(job);
+        jobSkillIndex.index(savedJob);
+        eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), false));
+        return savedJob;
     }
     
     public Optional<Job> updateJob(Long id, Job updatedJob) {
@@ -46,11 +77,20 @@ public class JobService {
                 job.setType(updatedJob.getType());
                 job.setPostedDate(updatedJob.getPostedDate());
                 job.setSkills(updatedJob.getSkills());
-                return jobRepository.save(job);
+                Job savedJob = jobRepository.save(job);
+                jobSkillIndex.index(savedJob);
+                eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), false));
+                return savedJob;
             });
     }
     
+    @Transactional
     public void deleteJob(Long id) {
+        // The job's matches are the pairs affected by its removal
+        jobMatchRepository.deleteByJobId(id);
+        matchDistributionIndex.removeJob(id);
         jobRepository.deleteById(id);
+        jobSkillIndex.remove(id);
+        eventPublisher.publishEvent(new JobChangedEvent(id, true));
     }
 }
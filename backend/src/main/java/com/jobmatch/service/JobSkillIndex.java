@@ -0,0 +1,139 @@
+package com.jobmatch.service;
+
+import com.jobmatch.event.SkillAliasesChangedEvent;
+import com.jobmatch.model.Job;
+import com.jobmatch.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from skill id to the ids of the jobs requiring it.
+ * Lets matching visit only the jobs that share at least one skill with a candidate.
+ */
+@Component
+public class JobSkillIndex {
+    
+    private static final int[] NO_SKILLS = new int[0];
+    
+    @Autowired
+    private JobRepository jobRepository;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    // Replaced whole on rebuild so readers never see a half-filled index
+    private volatile Tables tables = new Tables();
+    
+    // Bumped on every change so derived tables such as SkillWeights know when they are stale
+    private final AtomicLong version = new AtomicLong();
+    
+    @EventListener({ApplicationReadyEvent.class, SkillAliasesChangedEvent.class})
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public synchronized void rebuild() {
+        Tables rebuilt = new Tables();
+        try (Stream<Object[]> rows = jobRepository.streamJobSkills()) {
+            rows.forEach(row -> addJob(rebuilt, (Long) row[0], (List<String>) row[1]));
+        }
+        
+        tables = rebuilt;
+        version.incrementAndGet();
+    }
+    
+    public synchronized void index(Job job) {
+        remove(job.getId());
+        addJob(tables, job.getId(), job.getSkills());
+        version.incrementAndGet();
+    }
+    
+    public synchronized void remove(Long jobId) {
+        Tables current = tables;
+        int[] skillIds = current.skillIdsByJob.remove(jobId);
+        if (skillIds == null) {
+            return;
+        }
+        
+        version.incrementAndGet();
+        for (int skillId : skillIds) {
+            current.postings.computeIfPresent(skillId, (key, jobIds) -> {
+                jobIds.remove(jobId);
+                return jobIds.isEmpty() ? null : jobIds;
+            });
+        }
+    }
+    
+    /**
+     * Returns the ids of all jobs sharing at least one skill with the given skill ids.
+     */
+    public Set<Long> findCandidateJobs(int[] skillIds) {
+        Map<Integer, Set<Long>> postings = tables.postings;
+        Set<Long> candidates = new HashSet<>();
+        for (int skillId : skillIds) {
+            Set<Long> jobIds = postings.get(skillId);
+            if (jobIds != null) {
+                candidates.addAll(jobIds);
+            }
+        }
+        
+        return candidates;
+    }
+    
+    public Set<Long> getJobIds() {
+        return tables.skillIdsByJob.keySet();
+    }
+    
+    public int getJobCount() {
+        return tables.skillIdsByJob.size();
+    }
+    
+    /**
+     * Number of jobs listing the skill, however many times each lists it.
+     */
+    public int getDocumentFrequency(int skillId) {
+        Set<Long> jobIds = tables.postings.get(skillId);
+        return jobIds != null ? jobIds.size() : 0;
+    }
+    
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Returns the job's skills as sorted ids, duplicates included, or an empty array
+     * for jobs without skills.
+     */
+    public int[] getSkillIds(Long jobId) {
+        return tables.skillIdsByJob.getOrDefault(jobId, NO_SKILLS);
+    }
+    
+    private void addJob(Tables target, Long jobId, List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return;
+        }
+        
+        int[] skillIds = skillDictionary.encode(skills);
+        target.skillIdsByJob.put(jobId, skillIds);
+        for (int skillId : skillIds) {
+            target.postings.computeIfAbsent(skillId, key -> ConcurrentHashMap.newKeySet()).add(jobId);
+        }
+    }
+    
+    private static class Tables {
+        private final Map<Integer, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, int[]> skillIdsByJob = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,50 @@
+package com.jobmatch.service;
+
+/**
+ * Snapshot of one job's match score histogram, bucket {@code i} counting matches scoring {@code i}.
+ */
+public class MatchDistribution {
+    
+    private final int[] histogram;
+    private final int total;
+    
+    MatchDistribution(int[] histogram) {
+        this.histogram = histogram;
+        int sum = 0;
+        for (int count : histogram) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+    
+    public int[] getHistogram() { return histogram.clone(); }
+    
+    public int getTotal() { return total; }
+    
+    public int countAtLeast(int score) {
+        int count = 0;
+        for (int i = Math.max(score, 0); i < histogram.length; i++) {
+            count += histogram[i];
+        }
+        return count;
+    }
+    
+    /**
+     * Nearest-rank percentile of the scores, or null when the job has no matches.
+     */
+    public Integer percentile(double percent) {
+        if (total == 0) {
+            return null;
+        }
+        
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * total));
+        long seen = 0;
+        for (int score = 0; score < histogram.length; score++) {
+            seen += histogram[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return histogram.length - 1;
+    }
+}
@@ -0,0 +1,216 @@
+package com.jobmatch.service;
+
+import com.jobmatch.repository.JobMatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-job histogram of stored match scores, one bucket per score from 0 to 100. Built from an
+ * aggregate query and then updated as matches are written, so a job's distribution is read
+ * without touching its match rows. Changes made in a transaction apply once it commits.
+ *
+ * <p>Two transactions rewriting the same match both report the move, so concurrent re-matches can
+ * make a histogram drift slightly; it is rebuilt from the aggregate periodically to correct that.
+ * A change reaches the index only after its transaction commits, so the aggregate may or may
+ * not have seen a change that arrives while it runs. Matches changed during a rebuild are
+ * therefore looked up in the aggregate's own snapshot and corrected match by match, rather
+ * than replayed onto it.
+ */
+@Component
+public class MatchDistributionIndex {
+    
+    public static final int BUCKETS = 101;
+    
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private JobMatchRepository jobMatchRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private volatile Map<Long, int[]> histograms = new ConcurrentHashMap<>();
+    
+    // Latest state of each match and the jobs removed while a rebuild runs, null otherwise;
+    // guarded by changeLock
+    private final Object changeLock = new Object();
+    private Map<Long, ChangedMatch> matchesChangedDuringRebuild;
+    private Set<Long> jobsRemovedDuringRebuild;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jobmatch.matching.distribution.reconcile-interval-ms:600000}",
+        initialDelayString = "${jobmatch.matching.distribution.reconcile-interval-ms:600000}")
+    public synchronized void rebuild() {
+        synchronized (changeLock) {
+            matchesChangedDuringRebuild = new HashMap<>();
+            jobsRemovedDuringRebuild = new HashSet<>();
+        }
+        
+        try {
+            // The aggregate and the lookups must read the same snapshot
+            TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+            snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            snapshot.setReadOnly(true);
+            snapshot.executeWithoutResult(status -> {
+                Map<Long, int[]> rebuilt = new ConcurrentHashMap<>();
+                for (Object[] row : jobMatchRepository.countByJobAndScore()) {
+                    int[] histogram = rebuilt.computeIfAbsent((Long) row[0], id -> new int[BUCKETS]);
+                    histogram[bucket((Integer) row[1])] += ((Long) row[2]).intValue();
+                }
+                
+                Map<Long, Integer> snapshotScores = new HashMap<>();
+                Set<Long> lookedUp = new HashSet<>();
+                List<Long> pending;
+                while (!(pending = notLookedUp(lookedUp)).isEmpty()) {
+                    lookUpScores(pending, lookedUp, snapshotScores);
+                }
+                
+                synchronized (changeLock) {
+                    // Matches changed since the last lookup; few, so the lock is held only briefly
+                    lookUpScores(notLookedUp(lookedUp), lookedUp, snapshotScores);
+                    matchesChangedDuringRebuild.forEach((matchId, change) ->
+                        apply(rebuilt, change.jobId, snapshotScores.get(matchId), change.score));
+                    jobsRemovedDuringRebuild.forEach(rebuilt::remove);
+                    histograms = rebuilt;
+                }
+            });
+        } finally {
+            synchronized (changeLock) {
+                matchesChangedDuringRebuild = null;
+                jobsRemovedDuringRebuild = null;
+            }
+        }
+    }
+    
+    /**
+     * Moves one match of the job from the old score's bucket to the new one's. A null old score
+     * records a new match and a null new score a removed one.
+     */
+    public void record(Long matchId, Long jobId, Integer oldScore, Integer newScore) {
+        if (jobId == null || (oldScore == null ? newScore == null : oldScore.equals(newScore))) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (changeLock) {
+                apply(histograms, jobId, oldScore, newScore);
+                if (matchesChangedDuringRebuild != null && matchId != null) {
+                    matchesChangedDuringRebuild.put(matchId, new ChangedMatch(jobId, newScore));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Drops the job's histogram after its matches were deleted in bulk.
+     */
+    public void removeJob(Long jobId) {
+        afterCommit(() -> {
+            synchronized (changeLock) {
+                histograms.remove(jobId);
+                if (jobsRemovedDuringRebuild != null) {
+                    jobsRemovedDuringRebuild.add(jobId);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Returns the job's current distribution, empty for a job without matches.
+     */
+    public MatchDistribution getDistribution(Long jobId) {
+        int[] histogram = histograms.get(jobId);
+        if (histogram == null) {
+            return new MatchDistribution(new int[BUCKETS]);
+        }
+        synchronized (histogram) {
+            return new MatchDistribution(histogram.clone());
+        }
+    }
+    
+    private List<Long> notLookedUp(Set<Long> lookedUp) {
+        synchronized (changeLock) {
+            List<Long> matchIds = new ArrayList<>();
+            for (Long matchId : matchesChangedDuringRebuild.keySet()) {
+                if (!lookedUp.contains(matchId)) {
+                    matchIds.add(matchId);
+                }
+            }
+            return matchIds;
+        }
+    }
+    
+    /**
+     * Reads the matches' scores as the rebuild's snapshot has them; a match missing from the
+     * snapshot, or without a score, was not counted by the aggregate.
+     */
+    private void lookUpScores(List<Long> matchIds, Set<Long> lookedUp, Map<Long, Integer> scores) {
+        for (int from = 0; from < matchIds.size(); from += LOOKUP_BATCH_SIZE) {
+            for (Object[] row : jobMatchRepository.findScoresByIdIn(
+                    matchIds.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, matchIds.size())))) {
+                if (row[1] != null) {
+                    scores.put((Long) row[0], (Integer) row[1]);
+                }
+            }
+        }
+        lookedUp.addAll(matchIds);
+    }
+    
+    private static void apply(Map<Long, int[]> target, Long jobId, Integer oldScore, Integer newScore) {
+        int[] histogram = target.computeIfAbsent(jobId, id -> new int[BUCKETS]);
+        synchronized (histogram) {
+            if (oldScore != null && histogram[bucket(oldScore)] > 0) {
+                histogram[bucket(oldScore)]--;
+            }
+            if (newScore != null) {
+                histogram[bucket(newScore)]++;
+            }
+        }
+    }
+    
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+    
+    private static int bucket(int score) {
+        return Math.max(0, Math.min(BUCKETS - 1, score));
+    }
+    
+    /**
+     * A match's job and its score after the latest committed change, null once removed.
+     */
+    private static class ChangedMatch {
+        private final Long jobId;
+        private final Integer score;
+        
+        private ChangedMatch(Long jobId, Integer score) {
+            this.jobId = jobId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.jobmatch.service;
+
+import com.jobmatch.model.JobMatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Keeps MatchDistributionIndex in step with every JobMatch written through the entity manager.
+ * Bulk JPQL deletes bypass entity callbacks and are reported to the index by their callers.
+ */
+@Component
+public class MatchDistributionListener {
+    
+    // Lazy: the index needs a repository, which needs the entity manager factory creating this listener
+    @Lazy
+    @Autowired
+    private MatchDistributionIndex matchDistributionIndex;
+    
+    @PostLoad
+    public void loaded(JobMatch match) {
+        match.setPersistedScore(match.getMatchScore());
+    }
+    
+    @PostPersist
+    public void persisted(JobMatch match) {
+        matchDistributionIndex.record(match.getId(), match.getJob().getId(), null, match.getMatchScore());
+        match.setPersistedScore(match.getMatchScore());
+    }
+    
+    @PostUpdate
+    public void updated(JobMatch match) {
+        matchDistributionIndex.record(match.getId(), match.getJob().getId(), match.getPersistedScore(), match.getMatchScore());
+        match.setPersistedScore(match.getMatchScore());
+    }
+    
+    @PostRemove
+    public void removed(JobMatch match) {
+        matchDistributionIndex.record(match.getId(), match.getJob().getId(), match.getPersistedScore(), null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jobmatch.service;
+
+/**
+ * Counts, for a block of jobs, how many of each job's listed skills a candidate holds.
+ * The candidate is a bitset over skill ids; the jobs are their sorted skill ids laid out
+ * back to back, job {@code i} occupying {@code skillIds[offsets[i]..offsets[i + 1])}.
+ */
+public interface MatchKernel {
+    
+    void countMatches(long[] userBits, int[] skillIds, int[] offsets, int jobCount, int[] counts);
+    
+    static long[] toBitset(int[] skillIds, int skillCount) {
+        long[] bits = new long[(skillCount + 63) >>> 6];
+        for (int skillId : skillIds) {
+            bits[skillId >>> 6] |= 1L << skillId;
+        }
+        return bits;
+    }
+}
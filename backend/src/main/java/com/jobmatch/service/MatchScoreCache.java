@@ -0,0 +1,182 @@
+package com.jobmatch.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of ranked job scores, keyed by a candidate's skill set. Candidates with
+ * identical skills share one entry. Each entry remembers the job index version it was scored
+ * against and is recomputed once the catalog has changed since. Both the number of entries and
+ * the number of scores held across them are bounded, since without top-K an entry holds a score
+ * for every job sharing a skill.
+ */
+@Component
+public class MatchScoreCache {
+    
+    // 0 disables the cache
+    @Value("${jobmatch.matching.cache.max-entries:1000}")
+    private int maxEntries;
+    
+    // Job scores held across all entries, each taking about 32 bytes
+    @Value("${jobmatch.matching.cache.max-scores:1000000}")
+    private long maxScores;
+    
+    @Value("${jobmatch.matching.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    private final Map<SkillSetKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long scoreCount;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong staleEntries = new AtomicLong();
+    
+    /**
+     * Returns the cached scores for the skill set if they were computed against the given catalog
+     * version and have not expired, otherwise computes and caches them. Scoring runs outside the
+     * lock, so two candidates with the same new skill set may both compute it.
+     */
+    public List<JobScore> get(int[] skillIds, long catalogVersion, Supplier<List<JobScore>> scorer) {
+        if (maxEntries <= 0) {
+            return scorer.get();
+        }
+        
+        SkillSetKey key = new SkillSetKey(skillIds);
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.catalogVersion != catalogVersion) {
+                    staleEntries.incrementAndGet();
+                } else if (now - entry.createdAt > ttlSeconds * 1_000_000_000L) {
+                    expirations.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                    return entry.scores;
+                }
+                entries.remove(key);
+                scoreCount -= entry.scores.size();
+            }
+        }
+        
+        misses.incrementAndGet();
+        List<JobScore> scores = List.copyOf(scorer.get());
+        if (scores.size() > maxScores) {
+            // Would evict everything else and still not fit
+            return scores;
+        }
+        
+        synchronized (this) {
+            Entry replaced = entries.put(key, new Entry(scores, catalogVersion, now));
+            scoreCount += scores.size() - (replaced != null ? replaced.scores.size() : 0);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || scoreCount > maxScores) {
+                scoreCount -= eldest.next().scores.size();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return scores;
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+        scoreCount = 0;
+    }
+    
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), maxEntries, scoreCount, maxScores, hits.get(), misses.get(),
+            evictions.get(), expirations.get(), staleEntries.get());
+    }
+    
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long scoreCount;
+        private final long maxScores;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long staleEntries;
+        
+        private Stats(int size, int maxEntries, long scoreCount, long maxScores, long hits, long misses,
+                      long evictions, long expirations, long staleEntries) {
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.scoreCount = scoreCount;
+            this.maxScores = maxScores;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.staleEntries = staleEntries;
+        }
+        
+        public int getSize() { return size; }
+        
+        public int getMaxEntries() { return maxEntries; }
+        
+        public long getScoreCount() { return scoreCount; }
+        
+        public long getMaxScores() { return maxScores; }
+        
+        public long getHits() { return hits; }
+        
+        public long getMisses() { return misses; }
+        
+        public long getEvictions() { return evictions; }
+        
+        public long getExpirations() { return expirations; }
+        
+        public long getStaleEntries() { return staleEntries; }
+        
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+    
+    private static class Entry {
+        private final List<JobScore> scores;
+        private final long catalogVersion;
+        private final long createdAt;
+        
+        private Entry(List<JobScore> scores, long catalogVersion, long createdAt) {
+            this.scores = scores;
+            this.catalogVersion = catalogVersion;
+            this.createdAt = createdAt;
+        }
+    }
+    
+    // Sorted, distinct skill ids with their hash computed once
+    private static class SkillSetKey {
+        private final int[] skillIds;
+        private final int hash;
+        
+        private SkillSetKey(int[] skillIds) {
+            this.skillIds = skillIds;
+            this.hash = Arrays.hashCode(skillIds);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SkillSetKey && Arrays.equals(skillIds, ((SkillSetKey) other).skillIds);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
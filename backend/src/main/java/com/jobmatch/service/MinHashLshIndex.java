@@ -0,0 +1,160 @@
+package com.jobmatch.service;
+
+import com.jobmatch.event.JobChangedEvent;
+import com.jobmatch.event.SkillAliasesChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate candidate retrieval for very large catalogs. Each job's skill set is summarised by
+ * a MinHash signature split into bands; jobs whose band hashes collide with a candidate's are
+ * likely to have a high Jaccard similarity with them. More bands raise recall, more rows per band
+ * raise precision. Only maintained when {@code jobmatch.matching.retrieval=lsh}.
+ */
+@Component
+public class MinHashLshIndex {
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Value("${jobmatch.matching.retrieval:exact}")
+    private String retrieval;
+    
+    @Value("${jobmatch.matching.lsh.bands:32}")
+    private int bands;
+    
+    @Value("${jobmatch.matching.lsh.rows:2}")
+    private int rows;
+    
+    // Replaced whole on rebuild so readers never see a half-filled index
+    private volatile Tables tables = new Tables(new long[0]);
+    
+    public boolean isEnabled() {
+        return "lsh".equalsIgnoreCase(retrieval);
+    }
+    
+    // Runs after JobSkillIndex has been rebuilt, which orders its own listener first
+    @EventListener({ApplicationReadyEvent.class, SkillAliasesChangedEvent.class})
+    public synchronized void rebuild() {
+        if (!isEnabled()) {
+            tables = new Tables(new long[0]);
+            return;
+        }
+        
+        Tables rebuilt = new Tables(new SplittableRandom(bands * 31L + rows).longs(bands * rows).toArray());
+        for (Long jobId : jobSkillIndex.getJobIds()) {
+            addJob(rebuilt, jobId, jobSkillIndex.getSkillIds(jobId));
+        }
+        tables = rebuilt;
+    }
+    
+    @EventListener
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        
+        Tables current = tables;
+        remove(current, event.getJobId());
+        if (!event.isDeleted()) {
+            addJob(current, event.getJobId(), jobSkillIndex.getSkillIds(event.getJobId()));
+        }
+    }
+    
+    /**
+     * Returns the jobs sharing at least one band with the given skill ids. They still have to be
+     * scored exactly; a job with a high score but low Jaccard similarity may be missed.
+     */
+    public Set<Long> findCandidateJobs(int[] skillIds) {
+        Tables current = tables;
+        Set<Long> candidates = new HashSet<>();
+        if (skillIds.length == 0 || current.seeds.length == 0) {
+            return candidates;
+        }
+        
+        for (long bandKey : bandKeys(current.seeds, skillIds)) {
+            Set<Long> jobIds = current.buckets.get(bandKey);
+            if (jobIds != null) {
+                candidates.addAll(jobIds);
+            }
+        }
+        return candidates;
+    }
+    
+    private void addJob(Tables target, Long jobId, int[] skillIds) {
+        // Nothing is indexed until the first rebuild has drawn the seeds
+        if (skillIds.length == 0 || target.seeds.length == 0) {
+            return;
+        }
+        
+        long[] bandKeys = bandKeys(target.seeds, skillIds);
+        target.bandKeysByJob.put(jobId, bandKeys);
+        for (long bandKey : bandKeys) {
+            target.buckets.computeIfAbsent(bandKey, key -> ConcurrentHashMap.newKeySet()).add(jobId);
+        }
+    }
+    
+    private void remove(Tables target, Long jobId) {
+        long[] bandKeys = target.bandKeysByJob.remove(jobId);
+        if (bandKeys == null) {
+            return;
+        }
+        
+        for (long bandKey : bandKeys) {
+            target.buckets.computeIfPresent(bandKey, (key, jobIds) -> {
+                jobIds.remove(jobId);
+                return jobIds.isEmpty() ? null : jobIds;
+            });
+        }
+    }
+    
+    private long[] bandKeys(long[] seeds, int[] skillIds) {
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int skillId : skillIds) {
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(skillId ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        
+        long[] bandKeys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = 0; row < rows; row++) {
+                key = mix(key * 31 + signature[band * rows + row]);
+            }
+            bandKeys[band] = key;
+        }
+        return bandKeys;
+    }
+    
+    private static long mix(long value) {
+        // SplitMix64 finalizer
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+    
+    private static class Tables {
+        private final long[] seeds;
+        private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+        private final Map<Long, long[]> bandKeysByJob = new ConcurrentHashMap<>();
+        
+        private Tables(long[] seeds) {
+            this.seeds = seeds;
+        }
+    }
+}
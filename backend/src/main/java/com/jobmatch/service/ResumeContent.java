@@ -0,0 +1,51 @@
+package com.jobmatch.service;
+
+import com.jobmatch.model.Resume;
+import com.jobmatch.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What parsing a resume's text yields, independent of whose resume it is: a name or e-mail
+ * the text does not contain is left null and filled from the user when applied. Keyed by the
+ * hash of the text it was parsed from, which is null for the fallback of a failed parse.
+ */
+public class ResumeContent {
+    
+    private final String contentHash;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final List<String> skills;
+    private final List<String> experience;
+    private final List<String> education;
+    
+    ResumeContent(String contentHash, String name, String email, String phone,
+            List<String> skills, List<String> experience, List<String> education) {
+        this.contentHash = contentHash;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.skills = List.copyOf(skills);
+        this.experience = List.copyOf(experience);
+        this.education = List.copyOf(education);
+    }
+    
+    /**
+     * Makes the content the user's resume. Each resume gets lists of its own, since the content
+     * may be shared through the parse cache.
+     */
+    void applyTo(Resume resume, User user) {
+        resume.setUser(user);
+        resume.setContentHash(contentHash);
+        resume.setName(name != null ? name : user.getName());
+        resume.setEmail(email != null ? email : user.getEmail());
+        resume.setPhone(phone);
+        resume.setSkills(new ArrayList<>(skills));
+        resume.setExperience(new ArrayList<>(experience));
+        resume.setEducation(new ArrayList<>(education));
+    }
+    
+    public String getContentHash() { return contentHash; }
+}
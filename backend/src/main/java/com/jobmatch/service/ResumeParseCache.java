@@ -0,0 +1,116 @@
+package com.jobmatch.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of parsed resume content, keyed by the content hash of the resume text, so
+ * an upload already parsed for any user is not parsed again. Also counts uploads that matched
+ * the user's saved resume and skipped parsing altogether.
+ */
+@Component
+public class ResumeParseCache {
+    
+    // 0 disables the cache
+    @Value("${jobmatch.resume.cache.max-entries:1000}")
+    private int maxEntries;
+    
+    private final Map<String, ResumeContent> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    /**
+     * Returns the content cached for the hash, otherwise parses and caches it. Parsing runs
+     * outside the lock, so two uploads of the same new text may both parse it. A parse that
+     * throws caches nothing.
+     */
+    public ResumeContent get(String contentHash, Supplier<ResumeContent> parser) {
+        if (maxEntries <= 0) {
+            misses.incrementAndGet();
+            return parser.get();
+        }
+        
+        synchronized (this) {
+            ResumeContent content = entries.get(contentHash);
+            if (content != null) {
+                hits.incrementAndGet();
+                return content;
+            }
+        }
+        
+        misses.incrementAndGet();
+        ResumeContent content = parser.get();
+        synchronized (this) {
+            entries.put(contentHash, content);
+            Iterator<ResumeContent> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return content;
+    }
+    
+    /**
+     * Counts an upload identical to the user's saved resume, which needs no parse and no write.
+     */
+    public void recordUnchanged() {
+        unchanged.incrementAndGet();
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), maxEntries, hits.get(), misses.get(), unchanged.get(), evictions.get());
+    }
+    
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long unchanged;
+        private final long evictions;
+        
+        private Stats(int size, int maxEntries, long hits, long misses, long unchanged, long evictions) {
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.unchanged = unchanged;
+            this.evictions = evictions;
+        }
+        
+        public int getSize() { return size; }
+        
+        public int getMaxEntries() { return maxEntries; }
+        
+        public long getHits() { return hits; }
+        
+        public long getMisses() { return misses; }
+        
+        public long getUnchanged() { return unchanged; }
+        
+        public long getEvictions() { return evictions; }
+        
+        /**
+         * Share of uploads that were not parsed, because they were cached or unchanged.
+         */
+        public double getHitRate() {
+            long uploads = hits + misses + unchanged;
+            return uploads == 0 ? 0 : (double) (hits + unchanged) / uploads;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.jobmatch.service;
+
+import java.util.Arrays;
+
+/**
+ * The experience and education sections of a resume, found in one pass over its text that both
+ * records where every section header occurs and trims and classifies each line. A section runs
+ * from the first occurrence of its header to the nearest following header of another section,
+ * which may cut its last line short, exactly as searching the text with {@code indexOf} did; only
+ * such a cut line is classified again. Lines are copied out only when a caller keeps them.
+ */
+public final class ResumeSections {
+    
+    // In order of preference; the first one present anywhere in the text starts the section
+    private static final String[] EXPERIENCE_HEADERS = {"Experience", "Work Experience", "Professional Experience", "Employment"};
+    private static final String[] EXPERIENCE_END_HEADERS = {"Education", "Skills", "Projects", "References"};
+    private static final String[] EDUCATION_HEADERS = {"Education", "Academic Background", "Qualifications"};
+    private static final String[] EDUCATION_END_HEADERS = {"Experience", "Skills", "Projects", "References"};
+    
+    private static final String[] KEYWORDS = {
+        "Experience", "Work Experience", "Professional Experience", "Employment",
+        "Education", "Academic Background", "Qualifications", "Skills", "Projects", "References"
+    };
+    private static final String[] INSTITUTIONS = {"University", "College", "School", "Degree"};
+    
+    // Keywords and institutions by their capital first letter, to test only those that can start at a position
+    private static final int[][] KEYWORDS_BY_INITIAL = byInitial(KEYWORDS);
+    private static final int[][] INSTITUTIONS_BY_INITIAL = byInitial(INSTITUTIONS);
+    
+    private final String text;
+    
+    // Every line of the text: where it starts and ends, its bounds once trimmed, and its flags
+    private int[] lineStarts = new int[64];
+    private int[] lineEnds = new int[64];
+    private int[] trimmedStarts = new int[64];
+    private int[] trimmedEnds = new int[64];
+    private int[] lineFlags = new int[64];
+    private int lineCount;
+    
+    // Every position at which each keyword occurs, in ascending order
+    private final int[][] occurrences = new int[KEYWORDS.length][4];
+    private final int[] occurrenceCounts = new int[KEYWORDS.length];
+    
+    private final Section experience;
+    private final Section education;
+    
+    private ResumeSections(String text) {
+        this.text = text;
+        
+        int start = 0;
+        while (true) {
+            int end = text.indexOf('\n', start);
+            addLine(start, end < 0 ? text.length() : end);
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        
+        experience = section(EXPERIENCE_HEADERS, EXPERIENCE_END_HEADERS);
+        education = section(EDUCATION_HEADERS, EDUCATION_END_HEADERS);
+    }
+    
+    public static ResumeSections scan(String text) {
+        return new ResumeSections(text);
+    }
+    
+    public Section getExperience() {
+        return experience;
+    }
+    
+    public Section getEducation() {
+        return education;
+    }
+    
+    private void addLine(int start, int end) {
+        if (lineCount == lineStarts.length) {
+            int capacity = lineCount * 2;
+            lineStarts = Arrays.copyOf(lineStarts, capacity);
+            lineEnds = Arrays.copyOf(lineEnds, capacity);
+            trimmedStarts = Arrays.copyOf(trimmedStarts, capacity);
+            trimmedEnds = Arrays.copyOf(trimmedEnds, capacity);
+            lineFlags = Arrays.copyOf(lineFlags, capacity);
+        }
+        
+        int trimmedStart = trimStart(start, end);
+        int trimmedEnd = trimEnd(trimmedStart, end);
+        lineStarts[lineCount] = start;
+        lineEnds[lineCount] = end;
+        trimmedStarts[lineCount] = trimmedStart;
+        trimmedEnds[lineCount] = trimmedEnd;
+        // Keywords begin and end with letters, so none is lost by looking only inside the trimmed line
+        lineFlags[lineCount] = classify(trimmedStart, trimmedEnd, true);
+        lineCount++;
+    }
+    
+    private Section section(String[] headers, String[] endHeaders) {
+        for (String header : headers) {
+            int k = keyword(header);
+            if (occurrenceCounts[k] == 0) {
+                continue;
+            }
+            
+            int start = occurrences[k][0];
+            int end = text.length();
+            for (String endHeader : endHeaders) {
+                int next = firstAtOrAfter(keyword(endHeader), start + header.length());
+                if (next >= 0 && next < end) {
+                    end = next;
+                }
+            }
+            
+            // The header line itself is not part of the content
+            Section section = new Section(text);
+            int headerLine = Arrays.binarySearch(lineStarts, 0, lineCount, start);
+            for (int line = headerLine < 0 ? -headerLine - 1 : headerLine + 1; line < lineCount && lineStarts[line] < end; line++) {
+                if (lineEnds[line] <= end) {
+                    section.addLine(trimmedStarts[line], trimmedEnds[line], lineFlags[line]);
+                } else {
+                    int trimmedStart = trimStart(lineStarts[line], end);
+                    int trimmedEnd = trimEnd(trimmedStart, end);
+                    section.addLine(trimmedStart, trimmedEnd, classify(trimmedStart, trimmedEnd, false));
+                }
+            }
+            return section;
+        }
+        return new Section(text);
+    }
+    
+    private int classify(int start, int end, boolean recordKeywords) {
+        int flags = start < end && text.charAt(start) == '\u2022' ? Section.BULLET : 0;
+        int digitRun = 0;
+        boolean fourDigits = false;
+        boolean lineTerminator = false;
+        
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                fourDigits |= ++digitRun >= 4;
+                continue;
+            }
+            digitRun = 0;
+            
+            if (c >= 'A' && c <= 'Z') {
+                if (recordKeywords) {
+                    for (int k : KEYWORDS_BY_INITIAL[c - 'A']) {
+                        if (text.startsWith(KEYWORDS[k], i)) {
+                            recordKeyword(k, i);
+                        }
+                    }
+                }
+                for (int institution : INSTITUTIONS_BY_INITIAL[c - 'A']) {
+                    if (i + INSTITUTIONS[institution].length() <= end && text.startsWith(INSTITUTIONS[institution], i)) {
+                        flags |= Section.INSTITUTION;
+                    }
+                }
+            } else if (c == ' ') {
+                if (i + 4 <= end && text.startsWith(" at ", i)) {
+                    flags |= Section.AT;
+                }
+            } else if (c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                lineTerminator = true;
+            }
+        }
+        
+        if (fourDigits && !lineTerminator) {
+            flags |= Section.YEAR;
+        }
+        return flags;
+    }
+    
+    private void recordKeyword(int k, int position) {
+        if (occurrenceCounts[k] == occurrences[k].length) {
+            occurrences[k] = Arrays.copyOf(occurrences[k], occurrenceCounts[k] * 2);
+        }
+        occurrences[k][occurrenceCounts[k]++] = position;
+    }
+    
+    private int firstAtOrAfter(int k, int from) {
+        int index = Arrays.binarySearch(occurrences[k], 0, occurrenceCounts[k], from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < occurrenceCounts[k] ? occurrences[k][index] : -1;
+    }
+    
+    // Same characters String.trim() removes
+    private int trimStart(int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+    
+    private int trimEnd(int start, int end) {
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+    
+    private static int keyword(String header) {
+        for (int k = 0; k < KEYWORDS.length; k++) {
+            if (KEYWORDS[k].equals(header)) {
+                return k;
+            }
+        }
+        throw new IllegalArgumentException("Not a section keyword: " + header);
+    }
+    
+    private static int[][] byInitial(String[] words) {
+        int[][] byInitial = new int[26][0];
+        for (int w = 0; w < words.length; w++) {
+            int initial = words[w].charAt(0) - 'A';
+            byInitial[initial] = Arrays.copyOf(byInitial[initial], byInitial[initial].length + 1);
+            byInitial[initial][byInitial[initial].length - 1] = w;
+        }
+        return byInitial;
+    }
+    
+    /**
+     * The lines of one section after its header line, trimmed, with blank lines left out.
+     */
+    public static final class Section {
+        
+        /** The line contains " at ". */
+        public static final int AT = 1;
+        /** The line would match {@code .*\d{4}.*}: four ASCII digits in a row and no line terminator. */
+        public static final int YEAR = 1 << 1;
+        /** The line mentions a University, College, School or Degree. */
+        public static final int INSTITUTION = 1 << 2;
+        /** The line starts with a bullet. */
+        public static final int BULLET = 1 << 3;
+        
+        private final String text;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int[] flags = new int[8];
+        private int lineCount;
+        
+        private Section(String text) {
+            this.text = text;
+        }
+        
+        public int lineCount() {
+            return lineCount;
+        }
+        
+        public int flags(int line) {
+            return flags[line];
+        }
+        
+        public int length(int line) {
+            return ends[line] - starts[line];
+        }
+        
+        public String line(int line) {
+            return text.substring(starts[line], ends[line]);
+        }
+        
+        private void addLine(int start, int end, int lineFlags) {
+            if (start == end) {
+                return;
+            }
+            
+            if (lineCount == starts.length) {
+                starts = Arrays.copyOf(starts, lineCount * 2);
+                ends = Arrays.copyOf(ends, lineCount * 2);
+                flags = Arrays.copyOf(flags, lineCount * 2);
+            }
+            starts[lineCount] = start;
+            ends[lineCount] = end;
+            flags[lineCount] = lineFlags;
+            lineCount++;
+        }
+    }
+}
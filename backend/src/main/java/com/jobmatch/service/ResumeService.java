@@ -1,112 +1,240 @@
 
 package com.jobmatch.service;
 
+import com.jobmatch.event.CandidateChangedEvent;
 import com.jobmatch.model.Resume;
 import com.jobmatch.model.User;
 import com.jobmatch.repository.ResumeRepository;
 import com.jobmatch.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 public class ResumeService {
     
+    private static final Logger log = LoggerFactory.getLogger(ResumeService.class);
+    
+    private static final int READ_BUFFER_SIZE = 8192;
+    
+    private static final Pattern NAME_PATTERN = Pattern.compile("^([A-Z][a-z]+ [A-Z][a-z]+)", Pattern.MULTILINE);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
+    
     @Autowired
     private ResumeRepository resumeRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private SkillVocabulary skillVocabulary;
+    
+    @Autowired
+    private ResumeParseCache resumeParseCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${jobmatch.resume.max-text-length:200000}")
+    private int maxTextLength;
+    
     public Optional<Resume> getResumeById(Long id) {
         return resumeRepository.findById(id);
     }
     
     public Optional<Resume> getResumeByUser(Long userId) {
         return userRepository.findById(userId)
-            .flatMap(resumeRepository::findByUser);
+            .flatMap(resumeRepository::findFirstByUserOrderByIdDesc);
     }
     
-    public Resume parseResume(Long userId, byte[] resumeFile) {
+    public Resume parseResume(Long userId, InputStream resumeFile) throws IOException {
+        return parseResumeText(userId, readResumeText(resumeFile));
+    }
+    
+    /**
+     * Reads an upload's text so it can be parsed later, after the upload itself is gone. An
+     * upload that cannot be read fails rather than replacing the user's resume with nothing.
+     */
+    public String readResumeText(InputStream resumeFile) throws IOException {
+        return readResumeText(new InputStreamReader(resumeFile, StandardCharsets.UTF_8));
+    }
+    
+    public String readResumeText(Reader resumeFile) throws IOException {
+        return extractTextFromResume(resumeFile);
+    }
+    
+    public Resume parseResumeText(Long userId, String resumeText) {
         // Get the user
         User user = userRepository.findById(userId).orElseThrow();
         
-        // Create a new resume object
-        Resume resume = new Resume();
-        resume.setUser(user);
+        // Uploading the resume already on file again changes nothing
+        SkillExtractor extractor = skillVocabulary.getExtractor();
+        String contentHash = contentHash(extractor, resumeText);
+        Optional<Resume> existing = resumeRepository.findFirstByUserOrderByIdDesc(user);
+        if (existing.isPresent() && contentHash.equals(existing.get().getContentHash())) {
+            resumeParseCache.recordUnchanged();
+            return existing.get();
+        }
         
+        // A new upload replaces the user's resume rather than adding another
+        Resume resume = existing.orElseGet(Resume::new);
+        parseContent(contentHash, extractor, resumeText).applyTo(resume, user);
+        Resume savedResume = resumeRepository.save(resume);
+        indexResume(savedResume);
+        return savedResume;
+    }
+    
+    /**
+     * Hashes the text together with the dictionary it is parsed with, so the same upload parsed
+     * after the dictionary changes is not taken for the one already on file.
+     */
+    String contentHash(SkillExtractor extractor, String resumeText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(extractor.fingerprint().getBytes(StandardCharsets.US_ASCII));
+            digest.update(resumeText.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * Parses the text, or takes what an earlier upload of the same text parsed to from the cache.
+     */
+    ResumeContent parseContent(String contentHash, SkillExtractor extractor, String resumeText) {
         try {
-            // Convert the file to text
-            String resumeText = extractTextFromResume(resumeFile);
-            
-            // Extract information using regex patterns
-            resume.setName(extractName(resumeText, user.getName()));
-            resume.setEmail(extractEmail(resumeText, user.getEmail()));
-            resume.setPhone(extractPhone(resumeText));
-            resume.setSkills(extractSkills(resumeText));
-            resume.setExperience(extractExperience(resumeText));
-            resume.setEducation(extractEducation(resumeText));
-        } catch (Exception e) {
-            // If parsing fails, fall back to basic information
-            resume.setName(user.getName());
-            resume.setEmail(user.getEmail());
-            resume.setPhone("Not found in resume");
-            resume.setSkills(new ArrayList<>());
-            resume.setExperience(new ArrayList<>());
-            resume.setEducation(new ArrayList<>());
+            return resumeParseCache.get(contentHash, () -> extractContent(contentHash, extractor, resumeText));
+        } catch (RuntimeException e) {
+            // If parsing fails, fall back to basic information. The fallback is neither cached
+            // nor hashed, so uploading the same file again parses it again.
+            return new ResumeContent(null, null, null, "Not found in resume", List.of(), List.of(), List.of());
         }
+    }
+    
+    ResumeContent extractContent(String contentHash, SkillExtractor extractor, String resumeText) {
+        // Extract information using regex patterns
+        String name = extractName(resumeText);
+        String email = extractEmail(resumeText);
+        String phone = extractPhone(resumeText);
+        List<String> skills = extractSkills(extractor, resumeText);
         
-        return resumeRepository.save(resume);
+        // One pass finds both sections and classifies their lines
+        ResumeSections sections = ResumeSections.scan(resumeText);
+        return new ResumeContent(contentHash, name, email, phone, skills,
+            extractExperience(sections.getExperience()), extractEducation(sections.getEducation()));
+    }
+    
+    /**
+     * Makes a saved resume's skills count for matching.
+     */
+    void indexResume(Resume savedResume) {
+        candidateSkillIndex.index(savedResume.getUser().getId(), savedResume.getSkills());
+        eventPublisher.publishEvent(new CandidateChangedEvent(savedResume.getUser().getId()));
     }
     
-    private String extractTextFromResume(byte[] resumeFile) throws Exception {
+    /**
+     * Decodes the upload as it is read, turning every line ending into "\n" as
+     * {@link BufferedReader#readLine()} does. Text past {@code maxTextLength} characters is
+     * not read, so the memory a parse needs does not grow with the size of the file; such a
+     * resume is parsed from its first {@code maxTextLength} characters and a warning is logged.
+     */
+    String extractTextFromResume(Reader reader) throws IOException {
         StringBuilder text = new StringBuilder();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(resumeFile)));
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        boolean afterCarriageReturn = false;
+        
+        int read;
+        while (text.length() < maxTextLength && (read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n' && afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                    continue;
+                }
+                afterCarriageReturn = c == '\r';
+                text.append(afterCarriageReturn ? '\n' : c);
+            }
+        }
         
-        String line;
-        while ((line = reader.readLine()) != null) {
-            text.append(line).append("\n");
+        if (isCutOff(reader, text.length(), afterCarriageReturn)) {
+            log.warn("Resume text is longer than {} characters, the rest is not parsed", maxTextLength);
+            text.setLength(maxTextLength);
+        }
+        // Like readLine, end the last line even when the file does not
+        if (text.length() > 0 && text.charAt(text.length() - 1) != '\n') {
+            text.append('\n');
         }
         
         return text.toString();
     }
     
-    private String extractName(String resumeText, String fallback) {
+    /**
+     * Tells whether input is left once the text reached {@code maxTextLength}, not counting the
+     * line feed of a CRLF whose carriage return was the last character read.
+     */
+    private boolean isCutOff(Reader reader, int length, boolean afterCarriageReturn) throws IOException {
+        if (length != maxTextLength) {
+            return length > maxTextLength;
+        }
+        int next = reader.read();
+        if (afterCarriageReturn && next == '\n') {
+            next = reader.read();
+        }
+        return next != -1;
+    }
+    
+    String extractName(String resumeText) {
         // Look for name at the beginning of the resume
-        Pattern pattern = Pattern.compile("^([A-Z][a-z]+ [A-Z][a-z]+)", Pattern.MULTILINE);
-        Matcher matcher = pattern.matcher(resumeText);
+        Matcher matcher = NAME_PATTERN.matcher(resumeText);
         
         if (matcher.find()) {
             return matcher.group(1);
         }
         
-        return fallback;
+        return null;
     }
     
-    private String extractEmail(String resumeText, String fallback) {
-        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
-        Matcher matcher = pattern.matcher(resumeText);
+    String extractEmail(String resumeText) {
+        Matcher matcher = EMAIL_PATTERN.matcher(resumeText);
         
         if (matcher.find()) {
             return matcher.group(0);
         }
         
-        return fallback;
+        return null;
     }
     
-    private String extractPhone(String resumeText) {
+    String extractPhone(String resumeText) {
         // Look for phone numbers in various formats
-        Pattern pattern = Pattern.compile("(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}");
-        Matcher matcher = pattern.matcher(resumeText);
+        Matcher matcher = PHONE_PATTERN.matcher(resumeText);
         
         if (matcher.find()) {
             return matcher.group(0);
@@ -115,110 +243,44 @@ public class ResumeService {
         return "Not found in resume";
     }
     
-    private List<String> extractSkills(String resumeText) {
+    List<String> extractSkills(SkillExtractor extractor, String resumeText) {
         List<String> skills = new ArrayList<>();
+        Set<Integer> skillIds = new HashSet<>();
         
-        // Common programming languages and technologies
-        String[] commonSkills = {
-            "Java", "Python", "JavaScript", "TypeScript", "C\\+\\+", "C#", "Ruby", "PHP", "Swift",
-            "HTML", "CSS", "SQL", "NoSQL", "React", "Angular", "Vue", "Node.js", "Express",
-            "Django", "Spring", "ASP\\.NET", "AWS", "Azure", "GCP", "Docker", "Kubernetes",
-            "Git", "REST API", "GraphQL", "Machine Learning", "AI", "Data Analysis",
-            "Agile", "Scrum", "DevOps", "CI/CD", "TDD", "Project Management", 
-            "Leadership", "Communication", "Teamwork", "Problem Solving"
-        };
-        
-        for (String skill : commonSkills) {
-            Pattern pattern = Pattern.compile("\\b" + skill + "\\b", Pattern.CASE_INSENSITIVE);
-            Matcher matcher = pattern.matcher(resumeText);
-            
-            if (matcher.find()) {
-                skills.add(skill.replaceAll("\\\\", ""));
+        // Skills that are aliases of one already found are listed once
+        for (String foundSkill : extractor.extract(resumeText)) {
+            if (skillIds.add(skillDictionary.intern(foundSkill))) {
+                skills.add(foundSkill);
             }
         }
         
         return skills;
     }
     
-    private List<String> extractExperience(String resumeText) {
+    List<String> extractExperience(ResumeSections.Section section) {
         List<String> experience = new ArrayList<>();
         
-        // Look for common experience section indicators
-        String[] sectionHeaders = {"Experience", "Work Experience", "Professional Experience", "Employment"};
-        String[] nextSectionHeaders = {"Education", "Skills", "Projects", "References"};
-        
-        for (String header : sectionHeaders) {
-            int startIndex = resumeText.indexOf(header);
-            if (startIndex != -1) {
-                // Find the end of the section
-                int endIndex = resumeText.length();
-                for (String nextHeader : nextSectionHeaders) {
-                    int nextHeaderIndex = resumeText.indexOf(nextHeader, startIndex + header.length());
-                    if (nextHeaderIndex != -1 && nextHeaderIndex < endIndex) {
-                        endIndex = nextHeaderIndex;
-                    }
-                }
-                
-                // Extract the experience section
-                String experienceSection = resumeText.substring(startIndex, endIndex);
-                
-                // Split by lines and look for job titles or dates
-                String[] lines = experienceSection.split("\n");
-                for (int i = 1; i < lines.length; i++) { // Skip the header line
-                    String line = lines[i].trim();
-                    if (line.isEmpty()) continue;
-                    
-                    // Look for lines that might contain job experience
-                    if ((line.contains(" at ") || line.matches(".*\\d{4}.*")) && !line.startsWith("•") && line.length() > 10) {
-                        experience.add(line);
-                    }
-                }
-                
-                break;
+        // Look for lines that might contain job experience
+        for (int i = 0; i < section.lineCount(); i++) {
+            int flags = section.flags(i);
+            if ((flags & (ResumeSections.Section.AT | ResumeSections.Section.YEAR)) != 0
+                    && (flags & ResumeSections.Section.BULLET) == 0 && section.length(i) > 10) {
+                experience.add(section.line(i));
             }
         }
         
         return experience;
     }
     
-    private List<String> extractEducation(String resumeText) {
+    List<String> extractEducation(ResumeSections.Section section) {
         List<String> education = new ArrayList<>();
         
-        // Look for common education section indicators
-        String[] sectionHeaders = {"Education", "Academic Background", "Qualifications"};
-        String[] nextSectionHeaders = {"Experience", "Skills", "Projects", "References"};
-        
-        for (String header : sectionHeaders) {
-            int startIndex = resumeText.indexOf(header);
-            if (startIndex != -1) {
-                // Find the end of the section
-                int endIndex = resumeText.length();
-                for (String nextHeader : nextSectionHeaders) {
-                    int nextHeaderIndex = resumeText.indexOf(nextHeader, startIndex + header.length());
-                    if (nextHeaderIndex != -1 && nextHeaderIndex < endIndex) {
-                        endIndex = nextHeaderIndex;
-                    }
-                }
-                
-                // Extract the education section
-                String educationSection = resumeText.substring(startIndex, endIndex);
-                
-                // Split by lines and look for education information
-                String[] lines = educationSection.split("\n");
-                for (int i = 1; i < lines.length; i++) { // Skip the header line
-                    String line = lines[i].trim();
-                    if (line.isEmpty()) continue;
-                    
-                    // Look for lines that might contain education information
-                    if ((line.contains("University") || line.contains("College") || 
-                         line.contains("School") || line.contains("Degree") || 
-                         line.matches(".*\\d{4}.*")) && 
-                        !line.startsWith("•") && line.length() > 10) {
-                        education.add(line);
-                    }
-                }
-                
-                break;
+        // Look for lines that might contain education information
+        for (int i = 0; i < section.lineCount(); i++) {
+            int flags = section.flags(i);
+            if ((flags & (ResumeSections.Section.INSTITUTION | ResumeSections.Section.YEAR)) != 0
+                    && (flags & ResumeSections.Section.BULLET) == 0 && section.length(i) > 10) {
+                education.add(section.line(i));
             }
         }
         
@@ -234,11 +296,21 @@ public class ResumeService {
                 resume.setSkills(updatedResume.getSkills());
                 resume.setExperience(updatedResume.getExperience());
                 resume.setEducation(updatedResume.getEducation());
-                return resumeRepository.save(resume);
+                // Edited by hand, the resume no longer matches any upload
+                resume.setContentHash(null);
+                Resume savedResume = resumeRepository.save(resume);
+                indexResume(savedResume);
+                return savedResume;
             });
     }
     
     public void deleteResume(Long id) {
+        Optional<Resume> resume = resumeRepository.findById(id);
         resumeRepository.deleteById(id);
+        // Without a resume the candidate falls back to their profile skills
+        resume.ifPresent(deletedResume -> {
+            candidateSkillIndex.refresh(deletedResume.getUser());
+            eventPublisher.publishEvent(new CandidateChangedEvent(deletedResume.getUser().getId()));
+        });
     }
 }
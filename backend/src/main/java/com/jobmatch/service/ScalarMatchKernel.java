@@ -0,0 +1,15 @@
+package com.jobmatch.service;
+
+public class ScalarMatchKernel implements MatchKernel {
+    
+    @Override
+    public void countMatches(long[] userBits, int[] skillIds, int[] offsets, int jobCount, int[] counts) {
+        for (int job = 0; job < jobCount; job++) {
+            int matching = 0;
+            for (int i = offsets[job]; i < offsets[job + 1]; i++) {
+                matching += (int) (userBits[skillIds[i] >>> 6] >>> skillIds[i]) & 1;
+            }
+            counts[job] = matching;
+        }
+    }
+}
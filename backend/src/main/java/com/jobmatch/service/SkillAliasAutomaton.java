@@ -0,0 +1,168 @@
+package com.jobmatch.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie mapping skill aliases to canonical skill ids, compiled into flat arrays.
+ * Matching folds case and collapses whitespace while it walks the characters, so a raw skill
+ * string is resolved in a single pass without building a normalized copy.
+ */
+public final class SkillAliasAutomaton {
+    
+    public static final SkillAliasAutomaton EMPTY = compile(Map.of());
+    
+    // State s owns edges [firstEdge[s], firstEdge[s + 1]), sorted by character
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] output;
+    private final int aliasCount;
+    
+    private SkillAliasAutomaton(int[] firstEdge, char[] edgeChars, int[] edgeTargets, int[] output, int aliasCount) {
+        this.firstEdge = firstEdge;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.output = output;
+        this.aliasCount = aliasCount;
+    }
+    
+    /**
+     * Compiles the aliases, each mapped to the canonical id it resolves to. Aliases are
+     * normalized the same way input is, so "Node JS" and "node  js" are the same alias.
+     */
+    public static SkillAliasAutomaton compile(Map<String, Integer> canonicalIds) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputs.add(SkillDictionary.UNKNOWN);
+        
+        for (Map.Entry<String, Integer> alias : canonicalIds.entrySet()) {
+            String key = normalize(alias.getKey());
+            if (key.isEmpty()) {
+                continue;
+            }
+            
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = trie.get(state).get(key.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(key.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    outputs.add(SkillDictionary.UNKNOWN);
+                }
+                state = next;
+            }
+            outputs.set(state, alias.getValue());
+        }
+        
+        // Flatten breadth first so the states near the root share cache lines
+        int[] order = new int[trie.size()];
+        int[] renumbered = new int[trie.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            renumbered[state] = count;
+            order[count++] = state;
+            queue.addAll(trie.get(state).values());
+        }
+        
+        int edgeCount = trie.size() - 1;
+        int[] firstEdge = new int[trie.size() + 1];
+        char[] edgeChars = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        int[] output = new int[trie.size()];
+        int edge = 0;
+        for (int i = 0; i < order.length; i++) {
+            firstEdge[i] = edge;
+            output[i] = outputs.get(order[i]);
+            for (Map.Entry<Character, Integer> transition : trie.get(order[i]).entrySet()) {
+                edgeChars[edge] = transition.getKey();
+                edgeTargets[edge++] = renumbered[transition.getValue()];
+            }
+        }
+        firstEdge[order.length] = edge;
+        
+        return new SkillAliasAutomaton(firstEdge, edgeChars, edgeTargets, output, canonicalIds.size());
+    }
+    
+    /**
+     * Returns the canonical id of the alias the whole input spells, or
+     * {@link SkillDictionary#UNKNOWN} when it is not an alias.
+     */
+    public int resolve(CharSequence raw) {
+        int state = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (Character.isWhitespace(c)) {
+                // Leading whitespace is dropped; inner runs become one space
+                pendingSpace = state != 0;
+                continue;
+            }
+            
+            if (pendingSpace) {
+                state = next(state, ' ');
+                if (state < 0) {
+                    return SkillDictionary.UNKNOWN;
+                }
+                pendingSpace = false;
+            }
+            state = next(state, Character.toLowerCase(c));
+            if (state < 0) {
+                return SkillDictionary.UNKNOWN;
+            }
+        }
+        return output[state];
+    }
+    
+    public int size() {
+        return aliasCount;
+    }
+    
+    /**
+     * Folds case and collapses whitespace, the normalization {@link #resolve(CharSequence)}
+     * applies while matching.
+     */
+    public static String normalize(String raw) {
+        StringBuilder normalized = new StringBuilder(raw.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+    
+    private int next(int state, char c) {
+        int low = firstEdge[state];
+        int high = firstEdge[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char edgeChar = edgeChars[mid];
+            if (edgeChar < c) {
+                low = mid + 1;
+            } else if (edgeChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,221 @@
+package com.jobmatch.service;
+
+import com.jobmatch.event.SkillAliasesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Global dictionary assigning every canonical skill a dense int id, so skill sets can be
+ * held as sorted {@code int[]} and compared without string work on the matching path.
+ * Aliases such as "JS" resolve to their canonical skill through a precompiled automaton;
+ * other skills are compared case-insensitively.
+ */
+@Component
+public class SkillDictionary {
+    
+    private static final Logger log = LoggerFactory.getLogger(SkillDictionary.class);
+    
+    public static final int UNKNOWN = -1;
+    
+    @Autowired
+    private ResourceLoader resourceLoader;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${jobmatch.skills.aliases:classpath:skill-aliases.txt}")
+    private String aliasesLocation;
+    
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicReference<SkillAliasAutomaton> aliases = new AtomicReference<>(SkillAliasAutomaton.EMPTY);
+    private volatile long aliasesLastModified;
+    
+    @PostConstruct
+    public void loadAliases() {
+        Resource resource = resourceLoader.getResource(aliasesLocation);
+        if (!resource.exists()) {
+            return;
+        }
+        
+        aliasesLastModified = lastModified(resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            aliases.set(compile(parseAliases(reader)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read skill aliases from " + aliasesLocation, e);
+        }
+    }
+    
+    /**
+     * Swaps in the alias file when it has changed since it was last read.
+     */
+    @Scheduled(fixedDelayString = "${jobmatch.skills.reload-interval-ms:30000}",
+        initialDelayString = "${jobmatch.skills.reload-interval-ms:30000}")
+    public void reloadAliasesIfChanged() {
+        Resource resource = resourceLoader.getResource(aliasesLocation);
+        long modified = lastModified(resource);
+        if (modified == 0 || modified == aliasesLastModified) {
+            return;
+        }
+        
+        aliasesLastModified = modified;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            swapAliases(parseAliases(reader));
+            log.info("Reloaded skill aliases from {}", aliasesLocation);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping the current skill aliases; could not reload {}", aliasesLocation, e);
+        }
+    }
+    
+    /**
+     * Replaces the alias table and tells the skill indexes to re-encode what they hold.
+     * Lookups keep using the previous automaton until the new one is compiled.
+     */
+    public void swapAliases(Map<String, List<String>> aliasesByCanonical) {
+        SkillAliasAutomaton automaton = compile(aliasesByCanonical);
+        aliases.set(automaton);
+        eventPublisher.publishEvent(new SkillAliasesChangedEvent(automaton.size()));
+    }
+    
+    public int intern(String skill) {
+        int aliasId = aliases.get().resolve(skill);
+        if (aliasId != UNKNOWN) {
+            return aliasId;
+        }
+        return ids.computeIfAbsent(SkillAliasAutomaton.normalize(skill), key -> nextId.getAndIncrement());
+    }
+    
+    public int lookup(String skill) {
+        int aliasId = aliases.get().resolve(skill);
+        if (aliasId != UNKNOWN) {
+            return aliasId;
+        }
+        return ids.getOrDefault(SkillAliasAutomaton.normalize(skill), UNKNOWN);
+    }
+    
+    public int size() {
+        return nextId.get();
+    }
+    
+    /**
+     * Encodes a job's skills as sorted ids, interning new skills and keeping duplicates
+     * so the array length stays equal to the number of listed skills.
+     */
+    public int[] encode(Collection<String> skills) {
+        if (skills == null) {
+            return new int[0];
+        }
+        
+        int[] skillIds = new int[skills.size()];
+        int i = 0;
+        for (String skill : skills) {
+            skillIds[i++] = intern(skill);
+        }
+        
+        Arrays.sort(skillIds);
+        return skillIds;
+    }
+    
+    /**
+     * Encodes a candidate's skills as sorted, distinct ids. Skills no job has ever listed
+     * cannot match anything and are dropped instead of being interned.
+     */
+    public int[] encodeDistinct(Collection<String> skills) {
+        if (skills == null) {
+            return new int[0];
+        }
+        
+        return skills.stream()
+            .mapToInt(this::lookup)
+            .filter(id -> id != UNKNOWN)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+    
+    /**
+     * Encodes a candidate's skills as sorted, distinct ids, interning new skills so the
+     * candidate still matches jobs that list them later.
+     */
+    public int[] internDistinct(Collection<String> skills) {
+        if (skills == null) {
+            return new int[0];
+        }
+        
+        return skills.stream()
+            .mapToInt(this::intern)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+    
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.exists() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            // Not backed by a file, so it cannot change while we run
+            return 0;
+        }
+    }
+    
+    private SkillAliasAutomaton compile(Map<String, List<String>> aliasesByCanonical) {
+        // Canonical skills keep the ids they had before any alias table was loaded
+        Map<String, Integer> canonicalIds = new HashMap<>();
+        aliasesByCanonical.forEach((canonical, skillAliases) -> {
+            int id = ids.computeIfAbsent(SkillAliasAutomaton.normalize(canonical), key -> nextId.getAndIncrement());
+            canonicalIds.put(canonical, id);
+            for (String alias : skillAliases) {
+                canonicalIds.put(alias, id);
+            }
+        });
+        return SkillAliasAutomaton.compile(canonicalIds);
+    }
+    
+    /**
+     * Parses "Canonical: alias, alias" lines, skipping blank lines and # comments.
+     */
+    static Map<String, List<String>> parseAliases(BufferedReader reader) throws IOException {
+        Map<String, List<String>> aliasesByCanonical = new LinkedHashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            int separator = line.indexOf(':');
+            if (line.isEmpty() || line.startsWith("#") || separator <= 0) {
+                continue;
+            }
+            
+            List<String> skillAliases = aliasesByCanonical.computeIfAbsent(line.substring(0, separator).trim(), key -> new ArrayList<>());
+            for (String alias : line.substring(separator + 1).split(",")) {
+                if (!alias.isBlank()) {
+                    skillAliases.add(alias.trim());
+                }
+            }
+        }
+        return aliasesByCanonical;
+    }
+}
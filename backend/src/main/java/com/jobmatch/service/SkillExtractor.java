@@ -0,0 +1,384 @@
+package com.jobmatch.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Finds which of a list of skills occur in a text, in one pass over it. Each skill is written as
+ * a regular expression and is found exactly where
+ * {@code Pattern.compile("\\b" + skill + "\\b", Pattern.CASE_INSENSITIVE)} would find it. The
+ * expressions may only use escaped literals and {@code .}; anything else is rejected.
+ *
+ * <p>An Aho-Corasick automaton over the ASCII-case-folded text reports every occurrence of each
+ * skill's leading literal run. The rest of the skill, its {@code .} wildcards and the two word
+ * boundaries are then checked at that position with the regex engine's own rules. Transitions
+ * are stored sparsely, so tens of thousands of skills stay compact, and the cost of a scan
+ * depends on the text rather than on the number of skills. Instances are immutable and safe to
+ * share between threads.
+ */
+public final class SkillExtractor {
+    
+    private static final int ALPHABET = 128;
+    private static final int ROOT = 0;
+    private static final char ANY = '\uFFFF';
+    
+    // JDK 19 made \b ASCII-only; probe the running JDK so boundaries agree with its regex engine
+    private static final boolean UNICODE_WORD_BOUNDARY = !Pattern.compile("a\\b").matcher("a\u00e9").find();
+    
+    private final String[] skills;
+    // Each skill's pattern, ASCII lower-cased, with ANY standing for an unescaped '.'
+    private final char[][] patterns;
+    // Length of each pattern's leading run of literals, the part the automaton looks for
+    private final int[] triggerLengths;
+    
+    // State s owns edges [firstEdge[s], firstEdge[s + 1]), sorted by character
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] rootTransitions = new int[ALPHABET];
+    private final int[] failure;
+    
+    // Skills whose trigger ends in state s, and the nearest state on its failure chain that has any
+    private final int[] firstOutput;
+    private final int[] outputSkills;
+    private final int[] outputLink;
+    
+    private final String fingerprint;
+    
+    /**
+     * @param skillPatterns skills as regular expressions, such as {@code "C\\+\\+"} or {@code "Node.js"}
+     */
+    public SkillExtractor(List<String> skillPatterns) {
+        fingerprint = fingerprint(skillPatterns);
+        int count = skillPatterns.size();
+        skills = new String[count];
+        patterns = new char[count][];
+        triggerLengths = new int[count];
+        for (int skill = 0; skill < count; skill++) {
+            String skillPattern = skillPatterns.get(skill);
+            skills[skill] = skillPattern.replaceAll("\\\\", "");
+            patterns[skill] = parse(skillPattern);
+            
+            int length = 0;
+            while (length < patterns[skill].length && patterns[skill][length] != ANY) {
+                length++;
+            }
+            if (length == 0) {
+                throw new IllegalArgumentException("Skill pattern must start with a literal: " + skillPattern);
+            }
+            triggerLengths[skill] = length;
+        }
+        
+        // Insert the triggers in sorted order, so a state's existing child for a character is
+        // always its most recent one and each state's edges are created in character order
+        Integer[] order = new Integer[count];
+        for (int skill = 0; skill < count; skill++) {
+            order[skill] = skill;
+        }
+        Arrays.sort(order, (a, b) -> compareTriggers(a, b));
+        
+        IntList edgeFrom = new IntList();
+        IntList edgeChar = new IntList();
+        IntList edgeTo = new IntList();
+        IntList lastChildChar = new IntList();
+        IntList lastChild = new IntList();
+        IntList terminalState = new IntList();
+        lastChildChar.add(-1);
+        lastChild.add(-1);
+        int stateCount = 1;
+        
+        for (int skill : order) {
+            int state = ROOT;
+            for (int i = 0; i < triggerLengths[skill]; i++) {
+                char c = patterns[skill][i];
+                if (lastChildChar.get(state) == c) {
+                    state = lastChild.get(state);
+                    continue;
+                }
+                
+                int child = stateCount++;
+                edgeFrom.add(state);
+                edgeChar.add(c);
+                edgeTo.add(child);
+                lastChildChar.set(state, c);
+                lastChild.set(state, child);
+                lastChildChar.add(-1);
+                lastChild.add(-1);
+                state = child;
+            }
+            terminalState.add(state);
+        }
+        
+        // Group the edges by source state; the counting sort is stable, so they stay in character order
+        firstEdge = new int[stateCount + 1];
+        for (int e = 0; e < edgeFrom.size(); e++) {
+            firstEdge[edgeFrom.get(e) + 1]++;
+        }
+        for (int s = 0; s < stateCount; s++) {
+            firstEdge[s + 1] += firstEdge[s];
+        }
+        edgeChars = new char[edgeFrom.size()];
+        edgeTargets = new int[edgeFrom.size()];
+        int[] next = Arrays.copyOf(firstEdge, stateCount);
+        for (int e = 0; e < edgeFrom.size(); e++) {
+            int slot = next[edgeFrom.get(e)]++;
+            edgeChars[slot] = (char) edgeChar.get(e);
+            edgeTargets[slot] = edgeTo.get(e);
+        }
+        
+        firstOutput = new int[stateCount + 1];
+        for (int i = 0; i < count; i++) {
+            firstOutput[terminalState.get(i) + 1]++;
+        }
+        for (int s = 0; s < stateCount; s++) {
+            firstOutput[s + 1] += firstOutput[s];
+        }
+        outputSkills = new int[count];
+        next = Arrays.copyOf(firstOutput, stateCount);
+        for (int i = 0; i < count; i++) {
+            outputSkills[next[terminalState.get(i)]++] = order[i];
+        }
+        
+        // Failure and output links, breadth first from the root
+        for (int e = firstEdge[ROOT]; e < firstEdge[ROOT + 1]; e++) {
+            rootTransitions[edgeChars[e]] = edgeTargets[e];
+        }
+        failure = new int[stateCount];
+        outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = firstEdge[state]; e < firstEdge[state + 1]; e++) {
+                int child = edgeTargets[e];
+                if (state != ROOT) {
+                    failure[child] = step(failure[state], edgeChars[e]);
+                    int fallback = failure[child];
+                    outputLink[child] = firstOutput[fallback] < firstOutput[fallback + 1] ? fallback : outputLink[fallback];
+                }
+                queue[tail++] = child;
+            }
+        }
+    }
+    
+    public int size() {
+        return skills.length;
+    }
+    
+    /**
+     * SHA-256 of the skill patterns, in hex. Two extractors with the same fingerprint find the
+     * same skills in any text.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * Returns the skills found in the text, unescaped and in the order they were given.
+     */
+    public List<String> extract(CharSequence text) {
+        BitSet found = new BitSet();
+        int state = ROOT;
+        
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                // No skill contains a non-ASCII character
+                state = ROOT;
+                continue;
+            }
+            
+            state = step(state, foldCase(c));
+            for (int s = state; s >= 0; s = outputLink[s]) {
+                for (int o = firstOutput[s]; o < firstOutput[s + 1]; o++) {
+                    int skill = outputSkills[o];
+                    if (!found.get(skill) && matchesAt(skill, text, i + 1 - triggerLengths[skill])) {
+                        found.set(skill);
+                    }
+                }
+            }
+        }
+        
+        List<String> result = new ArrayList<>(found.cardinality());
+        for (int skill = found.nextSetBit(0); skill >= 0; skill = found.nextSetBit(skill + 1)) {
+            result.add(skills[skill]);
+        }
+        return result;
+    }
+    
+    private int step(int state, char c) {
+        while (state != ROOT) {
+            int target = edge(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            state = failure[state];
+        }
+        return rootTransitions[c];
+    }
+    
+    private int edge(int state, char c) {
+        int low = firstEdge[state];
+        int high = firstEdge[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char edgeChar = edgeChars[mid];
+            if (edgeChar < c) {
+                low = mid + 1;
+            } else if (edgeChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+    
+    private boolean matchesAt(int skill, CharSequence text, int start) {
+        if (!isBoundary(text, start)) {
+            return false;
+        }
+        
+        // The trigger already matched; continue after it
+        char[] pattern = patterns[skill];
+        int position = start + triggerLengths[skill];
+        for (int p = triggerLengths[skill]; p < pattern.length; p++) {
+            if (position >= text.length()) {
+                return false;
+            }
+            if (pattern[p] == ANY) {
+                // '.' consumes a whole code point other than a line terminator
+                int codePoint = Character.codePointAt(text, position);
+                if (isLineTerminator(codePoint)) {
+                    return false;
+                }
+                position += Character.charCount(codePoint);
+            } else {
+                char c = text.charAt(position++);
+                if (c >= ALPHABET || foldCase(c) != pattern[p]) {
+                    return false;
+                }
+            }
+        }
+        return isBoundary(text, position);
+    }
+    
+    private int compareTriggers(int a, int b) {
+        int length = Math.min(triggerLengths[a], triggerLengths[b]);
+        for (int i = 0; i < length; i++) {
+            if (patterns[a][i] != patterns[b][i]) {
+                return patterns[a][i] - patterns[b][i];
+            }
+        }
+        return triggerLengths[a] - triggerLengths[b];
+    }
+    
+    // Word boundary exactly as java.util.regex evaluates \b over the whole input
+    private static boolean isBoundary(CharSequence text, int index) {
+        boolean left = index > 0 && isWordPart(text, Character.codePointBefore(text, index), index - 1);
+        boolean right = index < text.length() && isWordPart(text, Character.codePointAt(text, index), index);
+        return left != right;
+    }
+    
+    private static boolean isWordPart(CharSequence text, int codePoint, int index) {
+        return isWord(codePoint)
+            || (Character.getType(codePoint) == Character.NON_SPACING_MARK && hasBaseCharacter(text, index));
+    }
+    
+    private static boolean isWord(int codePoint) {
+        if (UNICODE_WORD_BOUNDARY) {
+            return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+        }
+        return codePoint == '_' || (codePoint < ALPHABET && Character.isLetterOrDigit(codePoint));
+    }
+    
+    private static boolean hasBaseCharacter(CharSequence text, int index) {
+        for (int i = index; i >= 0; i--) {
+            int codePoint = Character.codePointAt(text, i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                return true;
+            }
+            if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == '\u0085'
+            || codePoint == '\u2028' || codePoint == '\u2029';
+    }
+    
+    private static char foldCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    
+    private static String fingerprint(List<String> skillPatterns) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String skillPattern : skillPatterns) {
+                digest.update(skillPattern.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static char[] parse(String skillPattern) {
+        StringBuilder pattern = new StringBuilder(skillPattern.length());
+        for (int i = 0; i < skillPattern.length(); i++) {
+            char c = skillPattern.charAt(i);
+            if (c == '\\' && i + 1 < skillPattern.length() && !Character.isLetterOrDigit(skillPattern.charAt(i + 1))) {
+                c = skillPattern.charAt(++i);
+            } else if (c == '.') {
+                pattern.append(ANY);
+                continue;
+            } else if ("\\[](){}*+?^$|".indexOf(c) >= 0) {
+                throw new IllegalArgumentException("Unsupported construct in skill pattern: " + skillPattern);
+            }
+            if (c >= ALPHABET) {
+                throw new IllegalArgumentException("Skill pattern must be ASCII: " + skillPattern);
+            }
+            pattern.append(foldCase(c));
+        }
+        return pattern.toString().toCharArray();
+    }
+    
+    // Growable int array, to build the automaton without boxing
+    private static class IntList {
+        private int[] values = new int[64];
+        private int size;
+        
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        private int get(int index) {
+            return values[index];
+        }
+        
+        private void set(int index, int value) {
+            values[index] = value;
+        }
+        
+        private int size() {
+            return size;
+        }
+    }
+}
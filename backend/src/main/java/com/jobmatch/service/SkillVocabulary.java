@@ -0,0 +1,113 @@
+package com.jobmatch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The skills looked for in resumes, read from a file and compiled into a {@link SkillExtractor}.
+ * The file is polled for changes; an edited file is compiled off to the side and swapped in
+ * atomically, so a parse that already took the previous extractor finishes with it. A file that
+ * fails to compile is logged and the current extractor stays in place.
+ */
+@Component
+public class SkillVocabulary {
+    
+    private static final Logger log = LoggerFactory.getLogger(SkillVocabulary.class);
+    
+    @Autowired
+    private ResourceLoader resourceLoader;
+    
+    @Value("${jobmatch.skills.dictionary:classpath:skill-dictionary.txt}")
+    private String dictionaryLocation;
+    
+    private final AtomicReference<SkillExtractor> extractor = new AtomicReference<>(new SkillExtractor(List.of()));
+    private volatile long lastModified;
+    
+    @PostConstruct
+    public void load() {
+        Resource resource = resourceLoader.getResource(dictionaryLocation);
+        if (!resource.exists()) {
+            log.warn("Skill dictionary {} not found; no skills will be extracted from resumes", dictionaryLocation);
+            return;
+        }
+        
+        long modified = lastModified(resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            SkillExtractor compiled = new SkillExtractor(parseSkills(reader));
+            extractor.set(compiled);
+            lastModified = modified;
+            log.info("Loaded {} skills from {}", compiled.size(), dictionaryLocation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read skill dictionary from " + dictionaryLocation, e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${jobmatch.skills.reload-interval-ms:30000}",
+        initialDelayString = "${jobmatch.skills.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(dictionaryLocation);
+        long modified = lastModified(resource);
+        if (modified == 0 || modified == lastModified) {
+            return;
+        }
+        
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Do not retry the same broken file on every poll
+            lastModified = modified;
+            log.warn("Keeping the current skill dictionary; could not reload {}", dictionaryLocation, e);
+        }
+    }
+    
+    /**
+     * The extractor to use for one parse. Callers take it once, so a reload cannot change the
+     * dictionary halfway through a resume.
+     */
+    public SkillExtractor getExtractor() {
+        return extractor.get();
+    }
+    
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.exists() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            // Not backed by a file, so it cannot change while we run
+            return 0;
+        }
+    }
+    
+    /**
+     * Reads one skill per line, skipping blank lines, # comments and repeats.
+     */
+    static List<String> parseSkills(BufferedReader reader) throws IOException {
+        Set<String> skills = new LinkedHashSet<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                skills.add(line);
+            }
+        }
+        return new ArrayList<>(skills);
+    }
+}
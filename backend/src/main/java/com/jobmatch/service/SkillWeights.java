@@ -0,0 +1,134 @@
+package com.jobmatch.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-skill weights used to score matches. In the default uniform mode every listed skill
+ * weighs 1, which gives the plain percentage of matched skills. In idf mode a skill weighs
+ * {@code ln(1 + N / df)}, N being the number of indexed jobs and df the number listing it,
+ * so ubiquitous skills contribute little to a score.
+ *
+ * <p>Document frequencies come from the job index's postings, which are kept up to date as jobs
+ * change. The weight table is recomputed from them only when the index has changed since the
+ * last snapshot, never per request.
+ */
+@Component
+public class SkillWeights {
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    // "uniform", or "idf" to weight skills by inverse document frequency
+    @Value("${jobmatch.matching.scoring:uniform}")
+    private String scoring;
+    
+    private volatile Snapshot snapshot = new Snapshot(-1, new double[0], 1);
+    
+    public boolean isIdf() {
+        return "idf".equalsIgnoreCase(scoring);
+    }
+    
+    /**
+     * Returns the current weights, recomputing them if jobs changed since the last call.
+     * Returns uniform weights when idf scoring is off.
+     */
+    public Snapshot current() {
+        if (!isIdf()) {
+            return Snapshot.UNIFORM;
+        }
+        
+        Snapshot current = snapshot;
+        if (current.version != jobSkillIndex.getVersion()) {
+            current = recompute();
+        }
+        return current;
+    }
+    
+    private synchronized Snapshot recompute() {
+        long version = jobSkillIndex.getVersion();
+        if (snapshot.version == version) {
+            return snapshot;
+        }
+        
+        int jobCount = Math.max(jobSkillIndex.getJobCount(), 1);
+        double[] weights = new double[skillDictionary.size()];
+        for (int skillId = 0; skillId < weights.length; skillId++) {
+            int documentFrequency = Math.max(jobSkillIndex.getDocumentFrequency(skillId), 1);
+            weights[skillId] = Math.log1p((double) jobCount / documentFrequency);
+        }
+        
+        // A skill first listed after this snapshot is as rare as a skill can be
+        snapshot = new Snapshot(version, weights, Math.log1p(jobCount));
+        return snapshot;
+    }
+    
+    public static class Snapshot {
+        
+        static final Snapshot UNIFORM = new Snapshot(-1, new double[0], 1);
+        
+        private final long version;
+        private final double[] weights;
+        private final double unknownWeight;
+        
+        private Snapshot(long version, double[] weights, double unknownWeight) {
+            this.version = version;
+            this.weights = weights;
+            this.unknownWeight = unknownWeight;
+        }
+        
+        public double weight(int skillId) {
+            return skillId < weights.length ? weights[skillId] : unknownWeight;
+        }
+        
+        /**
+         * Scores a job against a candidate as the weighted percentage of the job's listed skills
+         * the candidate holds. Each run of duplicate job skills is weighed as one product so the
+         * sum comes out the same as CandidateSkillIndex's per-skill accumulation.
+         */
+        public int score(long[] userBits, int[] jobSkillIds) {
+            double matched = 0;
+            double total = 0;
+            for (int i = 0; i < jobSkillIds.length; ) {
+                int skillId = jobSkillIds[i];
+                int copies = 1;
+                while (i + copies < jobSkillIds.length && jobSkillIds[i + copies] == skillId) {
+                    copies++;
+                }
+                i += copies;
+                
+                double weight = copies * weight(skillId);
+                total += weight;
+                if ((skillId >>> 6) < userBits.length && (userBits[skillId >>> 6] >>> skillId & 1) != 0) {
+                    matched += weight;
+                }
+            }
+            return percentage(matched, total);
+        }
+        
+        /**
+         * Sum of the weights of the job's listed skills, duplicates included.
+         */
+        public double total(int[] jobSkillIds) {
+            double total = 0;
+            for (int i = 0; i < jobSkillIds.length; ) {
+                int skillId = jobSkillIds[i];
+                int copies = 1;
+                while (i + copies < jobSkillIds.length && jobSkillIds[i + copies] == skillId) {
+                    copies++;
+                }
+                i += copies;
+                total += copies * weight(skillId);
+            }
+            return total;
+        }
+        
+        static int percentage(double matched, double total) {
+            return total > 0 ? (int) Math.round(matched / total * 100) : 0;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 
 package com.jobmatch.service;
 
+import com.jobmatch.event.CandidateChangedEvent;
 import com.jobmatch.model.User;
+import com.jobmatch.repository.JobMatchRepository;
 import com.jobmatch.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,9 +20,21 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private JobMatchRepository jobMatchRepository;
+    
+    @Autowired
+    private MatchDistributionIndex matchDistributionIndex;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private CandidateSkillIndex candidateSkillIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -33,7 +49,9 @@ public class UserService {
     
     public User createUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        candidateSkillIndex.index(savedUser.getId(), savedUser.getSkills());
+        return savedUser;
     }
     
     public Optional<User> updateUser(Long id, User updatedUser) {
@@ -45,12 +63,22 @@ public class UserService {
                     user.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
                 }
                 user.setSkills(updatedUser.getSkills());
-                return userRepository.save(user);
+                User savedUser = userRepository.save(user);
+                candidateSkillIndex.refresh(savedUser);
+                eventPublisher.publishEvent(new CandidateChangedEvent(savedUser.getId()));
+                return savedUser;
             });
     }
     
+    @Transactional
     public void deleteUser(Long id) {
+        // The bulk delete skips entity callbacks, so the distribution is told directly
+        for (Object[] row : jobMatchRepository.findScoresByUser(userRepository.getReferenceById(id))) {
+            matchDistributionIndex.record((Long) row[0], (Long) row[1], (Integer) row[2], null);
+        }
+        jobMatchRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        candidateSkillIndex.remove(id);
     }
     
     public boolean authenticate(String email, String password) {
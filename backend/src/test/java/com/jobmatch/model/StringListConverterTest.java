@@ -0,0 +1,61 @@
+package com.jobmatch.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StringListConverterTest {
+    
+    private final StringListConverter converter = new StringListConverter();
+    
+    @Test
+    void roundTripsEntriesWithLineBreaksAndBackslashes() {
+        List<String> values = List.of("Java", "line one\nline two", "C:\\path\\", "\\n is not a newline",
+            "crlf\r\n", "", "trailing backslash\\", "\\\\", "  spaced  ");
+        
+        assertEquals(values, roundTrip(values));
+    }
+    
+    @Test
+    void storesOneEntryPerLine() {
+        assertEquals("Java\nSpring\\nBoot\nC:\\\\", converter.convertToDatabaseColumn(List.of("Java", "Spring\nBoot", "C:\\")));
+    }
+    
+    @Test
+    void readsNullElementsBackAsEmptyStrings() {
+        assertEquals(List.of("", "Java", ""), roundTrip(Arrays.asList(null, "Java", null)));
+    }
+    
+    @Test
+    void roundTripsSingleEmptyEntry() {
+        assertEquals(List.of(""), roundTrip(List.of("")));
+    }
+    
+    @Test
+    void storesEmptyListAsNull() {
+        assertNull(converter.convertToDatabaseColumn(List.of()));
+        assertEquals(List.of(), converter.convertToEntityAttribute(null));
+    }
+    
+    @Test
+    void storesNullListAsNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+    
+    @Test
+    void readsBackAMutableList() {
+        List<String> values = converter.convertToEntityAttribute("Java");
+        values.add("Spring");
+        
+        assertEquals(new ArrayList<>(List.of("Java", "Spring")), values);
+    }
+    
+    private List<String> roundTrip(List<String> values) {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(values));
+    }
+}
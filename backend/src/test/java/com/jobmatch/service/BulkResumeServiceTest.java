@@ -0,0 +1,213 @@
+package com.jobmatch.service;
+
+import com.jobmatch.model.Resume;
+import com.jobmatch.model.User;
+import com.jobmatch.repository.JobMatchRepository;
+import com.jobmatch.repository.ResumeRepository;
+import com.jobmatch.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulkresumeservicetest",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=INFO",
+    "jobmatch.rematch.enabled=false",
+    "jobmatch.resume.bulk.max-line-length=4096"
+})
+@ActiveProfiles("test")
+class BulkResumeServiceTest {
+    
+    private static final String RESUME = "Jane Doe\njane@example.com\nSkills\nJava, Spring and Docker\n";
+    
+    @Autowired
+    private BulkResumeService bulkResumeService;
+    
+    @Autowired
+    private JobMatchRepository jobMatchRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final List<Long> userIds = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        jobMatchRepository.deleteAllInBatch();
+        resumeRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        
+        userIds.clear();
+        for (int i = 0; i < 3; i++) {
+            userIds.add(userRepository.save(new User("Candidate " + i, "bulk" + i + "@example.com", "password")).getId());
+        }
+    }
+    
+    @Test
+    void reportsEveryNdjsonLineOnItsOwn() throws IOException {
+        String upload = String.join("\n",
+            "{\"userId\": " + userIds.get(0) + ", \"text\": \"Jane Doe\\nJava\"}",
+            "",
+            "not json",
+            "{\"text\": \"no owner\"}",
+            "{\"userId\": " + userIds.get(1) + ", \"file\": \"@@@\"}",
+            "{\"userId\": " + userIds.get(1) + "}",
+            "{\"userId\": 999999, \"text\": \"Jane Doe\"}",
+            "{\"userId\": " + userIds.get(1) + ", \"text\": \"" + "x".repeat(5000) + "\"}",
+            "{\"userId\": " + userIds.get(2) + ", \"file\": \"" + base64(RESUME) + "\"}");
+        
+        List<BulkResumeResult> results = ingestNdjson(upload);
+        
+        assertEquals(List.of("CREATED", "FAILED", "FAILED", "FAILED", "FAILED", "FAILED", "FAILED", "CREATED"),
+            statuses(results));
+        assertEquals(List.of("line 1", "line 3", "line 4", "line 5", "line 6", "line 7", "line 8", "line 9"),
+            sources(results));
+        assertEquals(List.of("Malformed JSON", "Missing userId", "File is not base64", "Missing text or file",
+            "User not found", "Line is longer than 4096 characters"), errors(results.subList(1, 7)));
+        assertEquals(2, resumeRepository.count());
+        assertEquals(List.of("Java", "Spring", "Docker"), resumeOf(userIds.get(2)).getSkills());
+    }
+    
+    @Test
+    void reportsEveryZipEntryOnItsOwn() throws IOException {
+        byte[] archive = zip("partner/", null,
+            "partner/" + userIds.get(0) + ".txt", RESUME,
+            "notes.txt", RESUME,
+            "999999.txt", RESUME,
+            userIds.get(1) + ".txt", RESUME);
+        
+        List<BulkResumeResult> results = bulkResumeService.ingestZip(new ByteArrayInputStream(archive));
+        
+        assertEquals(List.of("CREATED", "FAILED", "FAILED", "CREATED"), statuses(results));
+        assertEquals(List.of("Entry name is not a user id", "User not found"), errors(results.subList(1, 3)));
+        assertEquals(userIds.get(0), results.get(0).getUserId());
+        assertNotNull(results.get(0).getResumeId());
+        assertNull(results.get(1).getUserId());
+    }
+    
+    @Test
+    void keepsEntriesReadBeforeATruncatedArchive() throws IOException {
+        byte[] archive = zip(userIds.get(0) + ".txt", RESUME, userIds.get(1) + ".txt", RESUME);
+        // Cut the archive a few bytes into the second entry's data
+        byte[] secondName = (userIds.get(1) + ".txt").getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = Arrays.copyOf(archive, indexOf(archive, secondName) + secondName.length + 5);
+        
+        List<BulkResumeResult> results = bulkResumeService.ingestZip(new ByteArrayInputStream(truncated));
+        
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertEquals("FAILED", results.get(1).getStatus());
+        assertTrue(results.get(1).getError().startsWith("Could not read resume"), results.get(1).getError());
+        assertTrue(statuses(results.subList(1, results.size())).stream().allMatch("FAILED"::equals));
+        assertEquals(1, resumeRepository.count());
+    }
+    
+    @Test
+    void reportsUnchangedAndUpdatedResumes() throws IOException {
+        String first = "{\"userId\": " + userIds.get(0) + ", \"text\": \"Jane Doe\\nJava\"}";
+        String changed = "{\"userId\": " + userIds.get(0) + ", \"text\": \"Jane Doe\\nPython\"}";
+        ingestNdjson(first);
+        
+        List<BulkResumeResult> results = ingestNdjson(first + "\n" + changed);
+        
+        assertEquals(List.of("UNCHANGED", "UPDATED"), statuses(results));
+        assertEquals(results.get(0).getResumeId(), results.get(1).getResumeId());
+        assertEquals(List.of("Python"), resumeOf(userIds.get(0)).getSkills());
+    }
+    
+    @Test
+    void failsOnlyTheEntryThatCannotBeSaved() throws IOException {
+        // An email longer than its column fails the batch, which is then saved entry by entry
+        String tooLong = "Jane Doe\\n" + "a".repeat(300) + "@example.com";
+        String upload = String.join("\n",
+            "{\"userId\": " + userIds.get(0) + ", \"text\": \"Jane Doe\\nJava\"}",
+            "{\"userId\": " + userIds.get(1) + ", \"text\": \"" + tooLong + "\"}",
+            "{\"userId\": " + userIds.get(2) + ", \"text\": \"Jane Doe\\nSpring\"}");
+        
+        List<BulkResumeResult> results = ingestNdjson(upload);
+        
+        assertEquals(List.of("CREATED", "FAILED", "CREATED"), statuses(results));
+        assertEquals(userIds.get(1), results.get(1).getUserId());
+        assertNotNull(results.get(1).getError());
+        assertEquals(2, resumeRepository.count());
+    }
+    
+    private List<BulkResumeResult> ingestNdjson(String upload) throws IOException {
+        return bulkResumeService.ingestNdjson(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private Resume resumeOf(Long userId) {
+        return resumeRepository.findFirstByUserOrderByIdDesc(userRepository.findById(userId).orElseThrow()).orElseThrow();
+    }
+    
+    private static List<String> statuses(List<BulkResumeResult> results) {
+        List<String> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.getStatus()));
+        return statuses;
+    }
+    
+    private static List<String> sources(List<BulkResumeResult> results) {
+        List<String> sources = new ArrayList<>();
+        results.forEach(result -> sources.add(result.getSource()));
+        return sources;
+    }
+    
+    private static List<String> errors(List<BulkResumeResult> results) {
+        List<String> errors = new ArrayList<>();
+        results.forEach(result -> errors.add(result.getError()));
+        return errors;
+    }
+    
+    private static String base64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Alternating entry names and contents; a null content makes a directory entry
+    private static byte[] zip(String... entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                if (entries[i + 1] != null) {
+                    zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < part.length && bytes[i + j] == part[j]) {
+                j++;
+            }
+            if (j == part.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
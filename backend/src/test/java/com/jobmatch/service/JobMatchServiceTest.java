@@ -0,0 +1,167 @@
+package com.jobmatch.service;
+
+import com.jobmatch.model.Job;
+import com.jobmatch.model.JobMatch;
+import com.jobmatch.model.User;
+import com.jobmatch.repository.JobMatchRepository;
+import com.jobmatch.repository.JobRepository;
+import com.jobmatch.repository.UserRepository;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:jobmatchservicetest",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.auto=com.jobmatch.service.JobMatchServiceTest$BatchCounter",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "jobmatch.rematch.enabled=false"
+})
+@ActiveProfiles("test")
+class JobMatchServiceTest {
+    
+    private static final int JOB_COUNT = 1000;
+    private static final int BATCH_SIZE = 50;
+    
+    private static final AtomicInteger batches = new AtomicInteger();
+    
+    @Autowired
+    private JobMatchService jobMatchService;
+    
+    @Autowired
+    private JobMatchRepository jobMatchRepository;
+    
+    @Autowired
+    private JobRepository jobRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        jobMatchRepository.deleteAllInBatch();
+        jobRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        
+        List<Job> jobs = new ArrayList<>(JOB_COUNT);
+        for (int i = 0; i < JOB_COUNT; i++) {
+            Job job = new Job();
+            job.setTitle("Job " + i);
+            job.setSkills(List.of("Java", "Spring", "Skill " + i));
+            jobs.add(job);
+        }
+        jobRepository.saveAll(jobs);
+        jobSkillIndex.rebuild();
+        
+        user = new User("Candidate", "candidate@example.com", "password");
+        user.setSkills(List.of("Java", "Spring"));
+        user = userRepository.save(user);
+        
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        batches.set(0);
+    }
+    
+    @Test
+    void calculatesMatchesForThousandJobsInBoundedStatements() {
+        List<JobMatch> matches = jobMatchService.calculateMatchesForUser(user.getId());
+        
+        assertEquals(JOB_COUNT, matches.size());
+        assertEquals(JOB_COUNT, statistics.getEntityInsertCount());
+        // The resume, the existing matches and the new jobs, then one id block and one batch per 50 rows
+        assertTrue(statistics.getQueryExecutionCount() <= 3, "queries: " + statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= JOB_COUNT / 50 + 10,
+            "statements: " + statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void recalculatingUnchangedMatchesWritesNothing() {
+        jobMatchService.calculateMatchesForUser(user.getId());
+        statistics.clear();
+        
+        List<JobMatch> matches = jobMatchService.calculateMatchesForUser(user.getId());
+        
+        assertEquals(JOB_COUNT, matches.size());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertTrue(statistics.getQueryExecutionCount() <= 3, "queries: " + statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 5, "statements: " + statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void recalculatingChangedMatchesUpdatesInBoundedStatements() {
+        jobMatchService.calculateMatchesForUser(user.getId());
+        user.setSkills(List.of("Java"));
+        userRepository.save(user);
+        statistics.clear();
+        
+        List<JobMatch> matches = jobMatchService.calculateMatchesForUser(user.getId());
+        
+        assertEquals(JOB_COUNT, matches.size());
+        assertEquals(JOB_COUNT, statistics.getEntityUpdateCount());
+        assertTrue(statistics.getQueryExecutionCount() <= 3, "queries: " + statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= JOB_COUNT / 50 + 10,
+            "statements: " + statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void savesMatchesInJdbcBatches() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(new User("Candidate " + i, "candidate" + i + "@example.com", "password"));
+        }
+        
+        List<JobMatch> matches = new ArrayList<>();
+        for (User candidate : userRepository.saveAll(users)) {
+            for (Job job : jobRepository.findAll()) {
+                JobMatch match = new JobMatch();
+                match.setUser(candidate);
+                match.setJob(job);
+                match.setMatchScore(50);
+                matches.add(match);
+            }
+        }
+        statistics.clear();
+        batches.set(0);
+        
+        jobMatchRepository.saveAll(matches);
+        
+        assertEquals(10_000, statistics.getEntityInsertCount());
+        // No batch holds more than batch_size rows, so 10,000 rows in 200 batches are all full
+        assertEquals(10_000 / BATCH_SIZE, batches.get());
+    }
+    
+    public static class BatchCounter extends BaseSessionEventListener {
+        
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            batches.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jobmatch.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MatchScoreCacheTest {
+    
+    private static final int[] JAVA = {1};
+    private static final int[] JAVA_SPRING = {1, 2};
+    private static final int[] PYTHON = {3};
+    
+    private MatchScoreCache cache;
+    private AtomicInteger scored;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new MatchScoreCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "maxScores", 10L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        scored = new AtomicInteger();
+    }
+    
+    @Test
+    void sharesScoresBetweenEqualSkillSets() {
+        List<JobScore> first = cache.get(JAVA_SPRING, 1, scorer(3));
+        List<JobScore> second = cache.get(new int[] {1, 2}, 1, scorer(3));
+        
+        assertSame(first, second);
+        assertEquals(1, scored.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+    
+    @Test
+    void recomputesAfterTheCatalogChanges() {
+        cache.get(JAVA, 1, scorer(3));
+        cache.get(JAVA, 2, scorer(3));
+        cache.get(JAVA, 2, scorer(3));
+        
+        assertEquals(2, scored.get());
+        assertEquals(1, cache.getStats().getStaleEntries());
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(3, cache.getStats().getScoreCount());
+    }
+    
+    @Test
+    void recomputesExpiredEntries() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+        cache.get(JAVA, 1, scorer(3));
+        Thread.sleep(1);
+        cache.get(JAVA, 1, scorer(3));
+        
+        assertEquals(2, scored.get());
+        assertEquals(1, cache.getStats().getExpirations());
+        assertEquals(3, cache.getStats().getScoreCount());
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        cache.get(JAVA, 1, scorer(1));
+        cache.get(JAVA_SPRING, 1, scorer(1));
+        cache.get(JAVA, 1, scorer(1));
+        cache.get(PYTHON, 1, scorer(1));
+        
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+        
+        // JAVA was used more recently than JAVA_SPRING, so it is still cached
+        cache.get(JAVA, 1, scorer(1));
+        assertEquals(3, scored.get());
+        cache.get(JAVA_SPRING, 1, scorer(1));
+        assertEquals(4, scored.get());
+    }
+    
+    @Test
+    void evictsEntriesBeyondMaxScores() {
+        cache.get(JAVA, 1, scorer(6));
+        cache.get(PYTHON, 1, scorer(6));
+        
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(6, cache.getStats().getScoreCount());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+    
+    @Test
+    void doesNotCacheScoresLargerThanTheWholeCache() {
+        cache.get(JAVA, 1, scorer(3));
+        List<JobScore> scores = cache.get(PYTHON, 1, scorer(11));
+        
+        assertEquals(11, scores.size());
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(3, cache.getStats().getScoreCount());
+        assertEquals(0, cache.getStats().getEvictions());
+    }
+    
+    @Test
+    void scoresEveryTimeWhenDisabled() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 0);
+        cache.get(JAVA, 1, scorer(3));
+        cache.get(JAVA, 1, scorer(3));
+        
+        assertEquals(2, scored.get());
+        assertEquals(0, cache.getStats().getSize());
+    }
+    
+    private Supplier<List<JobScore>> scorer(int jobCount) {
+        return () -> {
+            scored.incrementAndGet();
+            List<JobScore> scores = new ArrayList<>();
+            for (long jobId = 1; jobId <= jobCount; jobId++) {
+                scores.add(new JobScore(jobId, 50));
+            }
+            return scores;
+        };
+    }
+}
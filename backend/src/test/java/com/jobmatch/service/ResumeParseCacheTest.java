@@ -0,0 +1,110 @@
+package com.jobmatch.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResumeParseCacheTest {
+    
+    private static final String RESUME = "Jane Doe\njane@example.com\nJava, Spring and Docker";
+    
+    private final ResumeService resumeService = new ResumeService();
+    
+    private ResumeParseCache cache;
+    private AtomicInteger parsed;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new ResumeParseCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        parsed = new AtomicInteger();
+    }
+    
+    @Test
+    void parsesTheSameTextOnce() {
+        ResumeContent first = cache.get("a", parser("a"));
+        ResumeContent second = cache.get("a", parser("a"));
+        
+        assertSame(first, second);
+        assertEquals(1, parsed.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsedEntryBeyondMaxEntries() {
+        cache.get("a", parser("a"));
+        cache.get("b", parser("b"));
+        cache.get("a", parser("a"));
+        cache.get("c", parser("c"));
+        
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+        
+        // "a" was used more recently than "b", so it is still cached
+        cache.get("a", parser("a"));
+        assertEquals(3, parsed.get());
+        cache.get("b", parser("b"));
+        assertEquals(4, parsed.get());
+    }
+    
+    @Test
+    void reparsesTextOnceTheDictionaryChanges() {
+        SkillExtractor before = new SkillExtractor(List.of("Java", "Spring"));
+        SkillExtractor after = new SkillExtractor(List.of("Java", "Spring", "Docker"));
+        String hashBefore = resumeService.contentHash(before, RESUME);
+        String hashAfter = resumeService.contentHash(after, RESUME);
+        
+        assertEquals(hashBefore, resumeService.contentHash(new SkillExtractor(List.of("Java", "Spring")), RESUME));
+        assertNotEquals(hashBefore, hashAfter);
+        
+        cache.get(hashBefore, parser(hashBefore));
+        cache.get(hashAfter, parser(hashAfter));
+        assertEquals(2, parsed.get());
+    }
+    
+    @Test
+    void cachesNothingWhenParsingFails() {
+        assertThrows(IllegalStateException.class, () -> cache.get("a", () -> {
+            throw new IllegalStateException("unreadable");
+        }));
+        cache.get("a", parser("a"));
+        
+        assertEquals(1, parsed.get());
+        assertEquals(1, cache.getStats().getSize());
+    }
+    
+    @Test
+    void countsUnchangedUploadsAsHits() {
+        cache.get("a", parser("a"));
+        cache.recordUnchanged();
+        
+        assertEquals(0.5, cache.getStats().getHitRate());
+    }
+    
+    @Test
+    void parsesEveryTimeWhenDisabled() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 0);
+        cache.get("a", parser("a"));
+        cache.get("a", parser("a"));
+        
+        assertEquals(2, parsed.get());
+        assertEquals(0, cache.getStats().getSize());
+    }
+    
+    private Supplier<ResumeContent> parser(String contentHash) {
+        return () -> {
+            parsed.incrementAndGet();
+            return new ResumeContent(contentHash, "Jane Doe", null, null, List.of("Java"), List.of(), List.of());
+        };
+    }
+}
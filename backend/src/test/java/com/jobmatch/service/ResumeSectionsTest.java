@@ -0,0 +1,143 @@
+package com.jobmatch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResumeSectionsTest {
+    
+    private static final String[] EXPERIENCE_HEADERS = {"Experience", "Work Experience", "Professional Experience", "Employment"};
+    private static final String[] AFTER_EXPERIENCE = {"Education", "Skills", "Projects", "References"};
+    private static final String[] EDUCATION_HEADERS = {"Education", "Academic Background", "Qualifications"};
+    private static final String[] AFTER_EDUCATION = {"Experience", "Skills", "Projects", "References"};
+    
+    private static final String[] SAMPLE_RESUMES = {
+        """
+        Jane Doe
+        Work Experience
+        Backend Engineer at Acme Corp (2018 - 2023)
+        \u2022 Built billing services at scale in 2020
+        Intern at Initech
+        Short 2017
+        
+        Education
+        University of Somewhere, BSc Computer Science
+        Graduated 2015 with honours
+        Skills
+        Java, Spring
+        """,
+        """
+        EDUCATION
+        Academic Background
+          Springfield College - Degree in Economics
+        Qualifications 2012
+        Professional Experience
+        Analyst at Globex, 2012 - 2016\r
+        Consultant at Hooli\r
+        References available on request
+        """,
+        """
+        Employment
+        Senior developer at a startup, 2019
+        Projects
+        Open source maintainer at Example 2021
+        Experience
+        This header comes later and is ignored
+        """,
+        """
+        Summary only, no sections at all. Worked at many places since 1999.
+        """
+    };
+    
+    private static final String[] FRAGMENTS = {
+        "Experience", "Work Experience", "Professional Experience", "Employment", "Education",
+        "Academic Background", "Qualifications", "Skills", "Projects", "References", "Exp", "Educ",
+        "\n", "\n", "\n", " at ", "at", " ", "  ", "\t", "2019", "201", "9", "\u2022", "\u2022 ",
+        "\u0085", "\u2028", "\r", "University", "Univ", "College", "School", "Degree",
+        "x", "Acme Corp", "Engineer", "\u00e9", "\u0661\u0662\u0663\u0664", "\u0000", "S", "E"
+    };
+    
+    private final ResumeService resumeService = new ResumeService();
+    
+    @Test
+    void findsTheSameLinesAsTheLineScanOnSampleResumes() {
+        for (String resume : SAMPLE_RESUMES) {
+            assertSameAsLineScan(resume);
+        }
+    }
+    
+    @Test
+    void findsTheSameLinesAsTheLineScanOnRandomText() {
+        Random random = new Random(11);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(30);
+            for (int i = 0; i < length; i++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertSameAsLineScan(text.toString());
+        }
+    }
+    
+    @Test
+    void keepsDatedAndInstitutionLines() {
+        ResumeSections sections = ResumeSections.scan(SAMPLE_RESUMES[0]);
+        
+        assertEquals(List.of("Backend Engineer at Acme Corp (2018 - 2023)", "Intern at Initech"),
+            resumeService.extractExperience(sections.getExperience()));
+        assertEquals(List.of("University of Somewhere, BSc Computer Science", "Graduated 2015 with honours"),
+            resumeService.extractEducation(sections.getEducation()));
+    }
+    
+    private void assertSameAsLineScan(String resume) {
+        ResumeSections sections = ResumeSections.scan(resume);
+        
+        assertEquals(lineScan(resume, EXPERIENCE_HEADERS, AFTER_EXPERIENCE, false),
+            resumeService.extractExperience(sections.getExperience()), resume);
+        assertEquals(lineScan(resume, EDUCATION_HEADERS, AFTER_EDUCATION, true),
+            resumeService.extractEducation(sections.getEducation()), resume);
+    }
+    
+    /**
+     * The section extraction ResumeService did before ResumeSections: a substring per header
+     * tried, split into lines and each line tested with String methods and a regex.
+     */
+    private static List<String> lineScan(String resume, String[] headers, String[] nextHeaders, boolean education) {
+        List<String> lines = new ArrayList<>();
+        for (String header : headers) {
+            int startIndex = resume.indexOf(header);
+            if (startIndex == -1) {
+                continue;
+            }
+            
+            int endIndex = resume.length();
+            for (String nextHeader : nextHeaders) {
+                int nextHeaderIndex = resume.indexOf(nextHeader, startIndex + header.length());
+                if (nextHeaderIndex != -1 && nextHeaderIndex < endIndex) {
+                    endIndex = nextHeaderIndex;
+                }
+            }
+            
+            String[] sectionLines = resume.substring(startIndex, endIndex).split("\n");
+            for (int i = 1; i < sectionLines.length; i++) {
+                String line = sectionLines[i].trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                boolean wanted = education
+                    ? line.contains("University") || line.contains("College") || line.contains("School")
+                        || line.contains("Degree") || line.matches(".*\\d{4}.*")
+                    : line.contains(" at ") || line.matches(".*\\d{4}.*");
+                if (wanted && !line.startsWith("\u2022") && line.length() > 10) {
+                    lines.add(line);
+                }
+            }
+            break;
+        }
+        return lines;
+    }
+}
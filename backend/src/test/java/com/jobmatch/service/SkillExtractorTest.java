@@ -0,0 +1,114 @@
+package com.jobmatch.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SkillExtractorTest {
+    
+    private static final String[] SAMPLE_RESUMES = {
+        """
+        Jane Doe
+        Senior Software Engineer
+        
+        Skills
+        Java, Spring, Docker, Kubernetes, AWS, REST API design, CI/CD pipelines
+        
+        Work Experience
+        Backend Engineer at Acme Corp (2018 - 2023)
+        Built Node.js and C++ services; migrated SQL reports to NoSQL.
+        """,
+        """
+        JOHN SMITH - DATA SCIENTIST
+        python, machine learning, data analysis, TensorFlow, GCP
+        Led agile/scrum teams; strong communication and teamwork.
+        Education
+        University of Somewhere, BSc Computer Science 2015
+        """,
+        """
+        Front-end developer: JavaScript/TypeScript, React, Angular and Vue.
+        HTML5, CSS3, GraphQL. Worked with ASP.NET and C# on Azure DevOps.
+        Not skills: Javascripting, Reactor, Gitlab, AIs, Springfield, NodeXjs, ASPXNET.
+        """,
+        """
+        Caf\u00e9 manager, 2010-2014. Problem solving, leadership, project management.
+        TDD with git; Ruby, PHP and Swift apps; \u00e9Java and Java\u00e9 are not Java.
+        """
+    };
+    
+    private static final String[] FRAGMENTS = {
+        "java", "JAVA", "Script", "c++", "C#", "c", "+", "#", "node", "js", ".", "asp", ".net",
+        "ai", "AI", "a", "rest", " api", "ci/cd", "/", "git", "hub", "sql", "no", "vue", "_", "1",
+        " ", "\n", "\r", "\t", "\u0085", "\u00e9", "\u0301", "\ud83d\ude00", "\u0130", "\u017f",
+        "data", " analysis", "team", "work", "Express", "Kubernetes", "\uff21"
+    };
+    
+    private static List<String> skillPatterns;
+    private static SkillExtractor extractor;
+    
+    @BeforeAll
+    static void loadDictionary() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                SkillExtractorTest.class.getResourceAsStream("/skill-dictionary.txt"), StandardCharsets.UTF_8))) {
+            skillPatterns = SkillVocabulary.parseSkills(reader);
+        }
+        extractor = new SkillExtractor(skillPatterns);
+    }
+    
+    @Test
+    void findsTheSameSkillsAsOneRegexPerSkillOnSampleResumes() {
+        for (String resume : SAMPLE_RESUMES) {
+            assertEquals(regexExtract(resume), extractor.extract(resume), resume);
+        }
+    }
+    
+    @Test
+    void findsTheSameSkillsAsOneRegexPerSkillOnRandomText() {
+        Random random = new Random(7);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertEquals(regexExtract(text.toString()), extractor.extract(text), text.toString());
+        }
+    }
+    
+    @Test
+    void matchesWildcardsAndEscapedLiterals() {
+        SkillExtractor wildcards = new SkillExtractor(List.of("Node.js", "ASP\\.NET", "C\\+\\+"));
+        
+        assertEquals(List.of("Node.js"), wildcards.extract("NodeXjs"));
+        assertEquals(List.of(), wildcards.extract("ASPXNET"));
+        assertEquals(List.of("C++"), wildcards.extract("c++11"));
+        // \b after "+" needs a word character next, just as the regex would
+        assertEquals(List.of(), wildcards.extract("c++ and asp"));
+    }
+    
+    @Test
+    void rejectsPatternsThatAreNotLiterals() {
+        assertThrows(IllegalArgumentException.class, () -> new SkillExtractor(List.of("Java|Kotlin")));
+    }
+    
+    private static List<String> regexExtract(String text) {
+        List<String> skills = new ArrayList<>();
+        for (String skill : skillPatterns) {
+            if (Pattern.compile("\\b" + skill + "\\b", Pattern.CASE_INSENSITIVE).matcher(text).find()) {
+                skills.add(skill.replaceAll("\\\\", ""));
+            }
+        }
+        return skills;
+    }
+}